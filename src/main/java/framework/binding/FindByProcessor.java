@@ -0,0 +1,345 @@
+package framework.binding;
+
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * FindByProcessor class - Generates page object binding code from @FindBy fields at build time
+ * Replaces the runtime reflection and dynamic proxies of PageFactory.initElements().
+ *
+ * For every class with bindable WebElement fields, e.g. framework.pages.OrangeHRMLoginPage,
+ * it generates framework.pages.OrangeHRMLoginPage_Elements with one method:
+ *
+ *   static void bind(OrangeHRMLoginPage page, SearchContext context)
+ *
+ * which assigns a framework.core.LazyElement (or LazyElementList) to each field. The page
+ * object constructor calls it instead of PageFactory.initElements(driver, this).
+ * Locators go through framework.locator.LocatorCache, which can rewrite XPaths to CSS.
+ * WebElement fields without @FindBy are bound by their name as id or name, like PageFactory,
+ * so a class with only such fields gets a binder too. Each binder first calls the binder of
+ * the nearest superclass that has one. The generated code writes the fields directly, so
+ * bound fields must not be private.
+ *
+ * Named with -processor (annotationProcessors in pom.xml, and by the runner daemon's
+ * SourceCompiler) when compiling the test sources; newer JDKs no longer run processors
+ * found on the classpath. The main compilation itself runs with proc=none.
+ */
+public class FindByProcessor extends AbstractProcessor {
+
+    // Suffix of the generated binder class
+    static final String BINDER_SUFFIX = "_Elements";
+
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // Pages with only unannotated WebElement fields carry none of the annotations
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        // @FindBys and @FindAll combine locators at runtime - not supported by the generated binders
+        for (Element field : round.getElementsAnnotatedWith(FindBys.class)) {
+            error(field, "@FindBys is not supported by the generated binders; use @FindBy");
+        }
+        for (Element field : round.getElementsAnnotatedWith(FindAll.class)) {
+            error(field, "@FindAll is not supported by the generated binders; use @FindBy");
+        }
+
+        List<TypeElement> pages = new ArrayList<>();
+        for (Element root : round.getRootElements()) {
+            collectPages(root, pages);
+        }
+        for (TypeElement page : pages) {
+            try {
+                writeBinder(page);
+            } catch (IOException e) {
+                error(page, "Could not write binder: " + e.getMessage());
+            }
+        }
+        // Claims nothing, so other processors still see every annotation
+        return false;
+    }
+
+    // Adds the type and its member types that need a binder
+    private void collectPages(Element element, List<TypeElement> pages) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        if (isPage(type)) {
+            pages.add(type);
+        }
+        for (Element member : type.getEnclosedElements()) {
+            collectPages(member, pages);
+        }
+    }
+
+    /**
+     * Writes the <Page>_Elements class for one page object
+     */
+    private void writeBinder(TypeElement page) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        String pageName = page.getQualifiedName().toString();
+        String binderName = binderName(page);
+
+        StringBuilder body = new StringBuilder();
+        // Fields declared by a page superclass are bound by that class's binder, like PageFactory does
+        TypeElement superPage = superPage(page);
+        if (superPage != null) {
+            body.append("        ").append(qualifiedBinderName(superPage)).append(".bind(page, context);\n");
+        }
+        for (VariableElement field : findByFields(page)) {
+            if (!isAssignable(field)) {
+                error(field, "@FindBy fields must not be private, final or static - the generated binder assigns them");
+                continue;
+            }
+            String by = byExpression(field, field.getAnnotation(FindBy.class));
+            if (by == null) {
+                continue;
+            }
+            if (!isElementList(field.asType()) && !isType(field.asType(), WEB_ELEMENT)) {
+                error(field, "@FindBy fields must be WebElement or List<WebElement>");
+                continue;
+            }
+            appendBinding(body, pageName, field, by);
+        }
+        // Like PageFactory, WebElement fields without @FindBy are found by their name as id or name;
+        // List<WebElement> fields need an annotation, also like PageFactory, and are left alone
+        for (VariableElement member : unannotatedFields(page)) {
+            if (!isAssignable(member)) {
+                unassignableError(member);
+                continue;
+            }
+            String name = member.getSimpleName().toString();
+            appendBinding(body, pageName, member, "new org.openqa.selenium.support.ByIdOrName(" + literal(name) + ")");
+        }
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                (packageName.isEmpty() ? "" : packageName + ".") + binderName, page);
+        try (Writer out = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("/**\n");
+            out.write(" * Binds the WebElement fields of " + page.getSimpleName() + "\n");
+            out.write(" * Generated by " + FindByProcessor.class.getName() + " - do not edit\n");
+            out.write(" */\n");
+            out.write("public final class " + binderName + " {\n\n");
+            out.write("    private " + binderName + "() {\n    }\n\n");
+            out.write("    public static void bind(" + pageName + " page, org.openqa.selenium.SearchContext context) {\n");
+            out.write(body.toString());
+            out.write("    }\n}\n");
+        }
+    }
+
+    /**
+     * Appends the statement assigning a LazyElement (or LazyElementList) to one field
+     */
+    private void appendBinding(StringBuilder body, String pageName, VariableElement field, String by) {
+        boolean cache = field.getAnnotation(CacheLookup.class) != null;
+        String elementClass = isElementList(field.asType()) ? "framework.core.LazyElementList" : "framework.core.LazyElement";
+        // LocatorCache may swap an XPath for its CSS equivalent, translated once per page class
+        body.append("        page.").append(field.getSimpleName()).append(" = new ").append(elementClass)
+                .append("(context, framework.locator.LocatorCache.resolve(").append(pageName).append(".class, ")
+                .append(literal(field.getSimpleName().toString())).append(", ").append(by).append(", context), ")
+                .append(cache).append(");\n");
+    }
+
+    /**
+     * Builds the Java expression for the locator of a @FindBy annotation
+     * Same precedence as Selenium's FindBy.FindByBuilder: how/using, then the named attributes
+     */
+    private String byExpression(VariableElement field, FindBy findBy) {
+        List<String> locators = new ArrayList<>();
+        if (!findBy.using().isEmpty()) {
+            locators.add(howExpression(findBy.how().name(), findBy.using()));
+        }
+        addIfSet(locators, "org.openqa.selenium.By.id", findBy.id());
+        addIfSet(locators, "org.openqa.selenium.By.name", findBy.name());
+        addIfSet(locators, "org.openqa.selenium.By.className", findBy.className());
+        addIfSet(locators, "org.openqa.selenium.By.cssSelector", findBy.css());
+        addIfSet(locators, "org.openqa.selenium.By.tagName", findBy.tagName());
+        addIfSet(locators, "org.openqa.selenium.By.linkText", findBy.linkText());
+        addIfSet(locators, "org.openqa.selenium.By.partialLinkText", findBy.partialLinkText());
+        addIfSet(locators, "org.openqa.selenium.By.xpath", findBy.xpath());
+
+        if (locators.size() != 1) {
+            error(field, "@FindBy must specify exactly one locator, found " + locators.size());
+            return null;
+        }
+        return locators.get(0);
+    }
+
+    private String howExpression(String how, String using) {
+        switch (how) {
+            case "CLASS_NAME":
+                return "org.openqa.selenium.By.className(" + literal(using) + ")";
+            case "CSS":
+                return "org.openqa.selenium.By.cssSelector(" + literal(using) + ")";
+            case "ID":
+            case "UNSET":
+                // UNSET is FindBy's default how; Selenium's How.UNSET builds By.id, like ID
+                return "org.openqa.selenium.By.id(" + literal(using) + ")";
+            case "LINK_TEXT":
+                return "org.openqa.selenium.By.linkText(" + literal(using) + ")";
+            case "NAME":
+                return "org.openqa.selenium.By.name(" + literal(using) + ")";
+            case "PARTIAL_LINK_TEXT":
+                return "org.openqa.selenium.By.partialLinkText(" + literal(using) + ")";
+            case "TAG_NAME":
+                return "org.openqa.selenium.By.tagName(" + literal(using) + ")";
+            case "XPATH":
+                return "org.openqa.selenium.By.xpath(" + literal(using) + ")";
+            default:
+                // ID_OR_NAME
+                return "new org.openqa.selenium.support.ByIdOrName(" + literal(using) + ")";
+        }
+    }
+
+    private static void addIfSet(List<String> locators, String factory, String value) {
+        if (!value.isEmpty()) {
+            locators.add(factory + "(" + literal(value) + ")");
+        }
+    }
+
+    private void unassignableError(VariableElement field) {
+        error(field, "WebElement fields without @FindBy are bound by name like PageFactory does, so they"
+                + " must not be private, final or static - annotate or change the field");
+    }
+
+    // ========== TYPE HELPERS ==========
+
+    // A class gets a binder if it declares @FindBy fields or unannotated WebElement fields it can assign
+    private boolean isPage(TypeElement type) {
+        if (!findByFields(type).isEmpty()) {
+            return true;
+        }
+        for (VariableElement field : unannotatedFields(type)) {
+            if (isAssignable(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns the nearest superclass that has a binder, or null
+    // Superclasses skipped on the way can't be bound, so their WebElement fields are reported
+    private TypeElement superPage(TypeElement page) {
+        TypeMirror superclass = page.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement type = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (isPage(type)) {
+                return type;
+            }
+            unannotatedFields(type).forEach(this::unassignableError);
+            superclass = type.getSuperclass();
+        }
+        return null;
+    }
+
+    private static List<VariableElement> findByFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD && member.getAnnotation(FindBy.class) != null) {
+                fields.add((VariableElement) member);
+            }
+        }
+        return fields;
+    }
+
+    // WebElement fields without @FindBy; List<WebElement> fields need an annotation, like PageFactory
+    private List<VariableElement> unannotatedFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD && member.getAnnotation(FindBy.class) == null
+                    && member.getAnnotation(FindBys.class) == null && member.getAnnotation(FindAll.class) == null
+                    && isType(member.asType(), WEB_ELEMENT)) {
+                fields.add((VariableElement) member);
+            }
+        }
+        return fields;
+    }
+
+    // The generated binder assigns the field from outside the class
+    private static boolean isAssignable(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        return !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.FINAL)
+                && !modifiers.contains(Modifier.STATIC);
+    }
+
+    private boolean isElementList(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        return isType(processingEnv.getTypeUtils().erasure(type), "java.util.List")
+                && declared.getTypeArguments().size() == 1
+                && isType(declared.getTypeArguments().get(0), WEB_ELEMENT);
+    }
+
+    private boolean isType(TypeMirror type, String qualifiedName) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(qualifiedName);
+        return element != null && processingEnv.getTypeUtils().isSameType(
+                processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(element.asType()));
+    }
+
+    // Nested page classes get their outer class names as a prefix: Outer_Inner_Elements
+    private String binderName(TypeElement page) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        String qualified = page.getQualifiedName().toString();
+        String simple = packageName.isEmpty() ? qualified : qualified.substring(packageName.length() + 1);
+        return simple.replace('.', '_') + BINDER_SUFFIX;
+    }
+
+    private String qualifiedBinderName(TypeElement page) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        return (packageName.isEmpty() ? "" : packageName + ".") + binderName(page);
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c == '\n') {
+                literal.append("\\n");
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
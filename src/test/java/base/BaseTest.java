@@ -2,13 +2,49 @@ package base;
 
 // Import the DriverFactory to manage WebDriver instances
 import framework.core.DriverFactory;
+// Import the DriverContext to bind each WebDriver to a single test invocation
+import framework.core.DriverContext;
+// Import RemoteGrid to run sessions on a Selenium Grid
+import framework.core.RemoteGrid;
+// Import EventCapture to keep only this test's browser events
+import framework.capture.EventCapture;
+// Import the SuiteScheduler to share worker slots across <test> blocks
+import framework.parallel.SuiteScheduler;
+// Import the ResourceLockListener to wait for @ResourceLock locks before starting a browser
+import framework.parallel.ResourceLockListener;
+// Import the FixtureServer for hermetic record/replay page tests
+import framework.fixtures.FixtureServer;
+// Import the ImpactRecorder to record which page objects each test uses
+import framework.impact.ImpactRecorder;
+// Import the LocatorCache to forget the locators of previous runs
+import framework.locator.LocatorCache;
+// Import the LocatorProfiler to rank element lookups by cost
+import framework.locator.LocatorProfiler;
+// Import the MetricsServer for the optional live Prometheus endpoint
+import framework.metrics.MetricsServer;
+// Import the Tracer for the Chrome trace-event timeline export
+import framework.trace.TraceListener;
+import framework.trace.Tracer;
+// Import the PhaseTimer to split each test's wall time into lifecycle phases
+import framework.timing.Phase;
+import framework.timing.PhaseTimer;
+import framework.timing.WaitProfiler;
+// Import VisualCheckpoint to stop its comparison pool at the end of the suite
+import framework.visual.VisualCheckpoint;
 // Import Selenium WebDriver for browser automation
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
 // Import TestNG annotations for test lifecycle management
+import org.testng.ITestResult;
 import org.testng.annotations.*;
+// Import IOException thrown when the fixture server can't start
+import java.io.IOException;
 // Import Java time utilities for logging timestamps
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+// Import the list that keeps the suite's WebDriver listeners
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * BaseTest - Abstract base class that all test classes must extend
@@ -17,15 +53,17 @@ import java.time.format.DateTimeFormatter;
  */
 public abstract class BaseTest {
     
-    // Protected WebDriver instance that all child test classes can access
-    // This driver is inherited by all test classes that extend BaseTest
-    protected WebDriver driver;
-    
     // Static constant for formatting timestamps in logs
     // Format: HH:mm:ss.SSS (e.g., 14:30:25.123)
     private static final DateTimeFormatter TIME_FORMAT =
             DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
 
+    // Start of the suite, for the suite span in the trace export
+    private static long suiteStartNanos;
+
+    // Listeners this suite registered with DriverFactory, unregistered again in @AfterSuite
+    private static final List<WebDriverListener> suiteListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Helper method to log test execution phases with timestamp and thread ID
      * This helps track which thread is executing which phase during parallel runs
@@ -41,14 +79,63 @@ public abstract class BaseTest {
                 phase);                               // Test phase
     }
 
+    /**
+     * Returns the WebDriver bound to the currently running test invocation
+     * With parallel="methods" all methods of a class share one instance of this class,
+     * so the driver is never kept in a field - each invocation gets its own session
+     * 
+     * @return WebDriver for the current test invocation
+     */
+    protected WebDriver getDriver() {
+        return DriverContext.current();
+    }
+
     /**
      * @BeforeSuite - Runs once before all tests in the suite
      * This is the highest level of TestNG lifecycle
      * Useful for one-time setup like database connections, test data preparation
+     * Starts the local fixture server when -Dfixtures.mode=record|replay is set
+     * Starts the metrics endpoint when -Dmetrics.port is set
+     * Starts tracing WebDriver commands when -Dtrace.file is set
+     * Starts recording page object and URL usage when -Dimpact.record=true is set
+     * Starts timing element lookups when -Dlocator.profile=true is set
+     * Runs sessions on a Selenium Grid when the gridUrl parameter (or -Dgrid.url) is set
+     * Report totals start from zero, so each run of the runner daemon is reported on its own
+     * 
+     * @param gridUrl - Grid address from testng.xml, empty for local browsers
+     * @param browser - Browser parameter, used to prewarm grid sessions
      */
     @BeforeSuite
-    public void beforeSuite() {
+    @Parameters({"gridUrl", "browser"})
+    public void beforeSuite(@Optional("") String gridUrl, @Optional("chrome") String browser)
+            throws IOException, InterruptedException {
         log("@BeforeSuite");
+        // Static totals outlive the suite in a long-lived process - start this one from zero
+        PhaseTimer.reset();
+        WaitProfiler.reset();
+        LocatorProfiler.reset();
+        LocatorCache.reset();
+        ImpactRecorder.reset();
+        Tracer.reset();
+        suiteStartNanos = System.nanoTime();
+        FixtureServer.startIfEnabled();
+        MetricsServer.startIfEnabled();
+        if (Tracer.isEnabled()) {
+            addSuiteListener(new TraceListener());
+        }
+        if (ImpactRecorder.isEnabled()) {
+            addSuiteListener(new ImpactRecorder());
+        }
+        if (LocatorProfiler.isEnabled()) {
+            addSuiteListener(new LocatorProfiler());
+        }
+        // Listeners are registered first, so prewarmed sessions are decorated too
+        String grid = gridUrl.isEmpty() ? System.getProperty("grid.url", "") : gridUrl;
+        if (!grid.isEmpty()) {
+            log("Using Selenium Grid at " + grid);
+            DriverFactory.useGrid(grid);
+            RemoteGrid.prewarm(browser, Integer.getInteger("grid.prewarm", 0));
+        }
     }
 
     /**
@@ -57,8 +144,36 @@ public abstract class BaseTest {
      * Useful for cleanup like closing database connections, generating reports
      */
     @AfterSuite
-    public void afterSuite() {
+    public void afterSuite() throws IOException {
         log("@AfterSuite");
+        // Sessions of the next suite must not get a second copy of this suite's listeners
+        for (WebDriverListener listener : suiteListeners) {
+            DriverFactory.removeListener(listener);
+        }
+        suiteListeners.clear();
+        FixtureServer.stop();
+        MetricsServer.stop();
+        RemoteGrid.shutdown();
+        VisualCheckpoint.shutdown();
+        // Print where the suite's total time went
+        PhaseTimer.printReport();
+        // Rank waits and sleeps by wasted time when -Dwait.profile=true is set
+        WaitProfiler.printReport();
+        // Show how busy the shared workers were across all <test> blocks
+        SuiteScheduler.printReport();
+        // Rank locators by total lookup time when -Dlocator.profile=true is set
+        LocatorProfiler.printReport();
+        // Write the timeline of the whole run
+        Tracer.complete(Tracer.SUITE, "suite", suiteStartNanos);
+        Tracer.write();
+        // Update the impact map used to select tests for a change
+        ImpactRecorder.write();
+    }
+
+    // Registers a listener with DriverFactory for the duration of the suite
+    private static void addSuiteListener(WebDriverListener listener) {
+        suiteListeners.add(listener);
+        DriverFactory.addListener(listener);
     }
 
     /**
@@ -110,31 +225,50 @@ public abstract class BaseTest {
      * 
      * @param browser - Browser parameter from testng.xml or command line
      * @Optional("chrome") - Default value if no browser parameter is provided
+     * @param result - Injected by TestNG, the result of the test method about to run
      */
     @BeforeMethod(alwaysRun = true)
     @Parameters({"browser"})
-    public void setUp(@Optional("chrome") String browser) {
+    public void setUp(@Optional("chrome") String browser, ITestResult result) {
         // Log the current test phase with browser information
         log("@BeforeMethod - Browser: " + browser);
         System.out.println("[DEBUG] BeforeMethod called with browser: " + browser);
         
         try {
-            // Get WebDriver instance from DriverFactory for the current thread
-            // This ensures each test thread gets its own WebDriver instance
-            driver = DriverFactory.getDriver(browser);
+            // Wait for the test's @ResourceLock locks first, so a blocked test holds no slot or browser
+            ResourceLockListener.acquire(result);
+            
+            // Wait for a worker slot shared by all <test> blocks (no-op without SuiteScheduler)
+            SuiteScheduler.acquire(result);
+            
+            // Create a new WebDriver session for this test invocation
+            // A local variable is used so concurrent setUp calls can't overwrite each other
+            long acquireStart = System.nanoTime();
+            WebDriver driver = DriverFactory.createDriver(browser);
+            PhaseTimer.record(result, Phase.DRIVER_ACQUIRE, acquireStart);
             
             // Validate that WebDriver was successfully created
             if (driver == null) {
                 throw new RuntimeException("Failed to initialize WebDriver for browser: " + browser);
             }
             
+            // Bind the session to this invocation's ITestResult
+            DriverContext.bind(result, driver);
+            // A reused session may still hold events of the previous test
+            EventCapture.clear(driver);
+            
             // Log successful WebDriver initialization with driver class name
             System.out.println("[DEBUG] WebDriver initialized successfully: " + driver.getClass().getName());
             
+            // Everything from here until tearDown() counts as the test body
+            PhaseTimer.bodyStarted(result);
+            
         } catch (Exception e) {
             
             // Log any errors during WebDriver initialization
             System.err.println("[ERROR] Failed to initialize WebDriver: " + e.getMessage());
+            SuiteScheduler.release(result);
+            ResourceLockListener.release(result);
             e.printStackTrace();
             // Re-throw the exception to fail the test
             throw e;
@@ -145,12 +279,28 @@ public abstract class BaseTest {
      * @AfterMethod - Runs after each test method (@Test)
      * This is where WebDriver cleanup happens for each test
      * Ensures browser is closed and resources are freed
+     * alwaysRun = true ensures the session is released even for skipped groups
+     * 
+     * @param result - Injected by TestNG, the result of the test method that just ran
      */
-    @AfterMethod
-    public void tearDown() {
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
         log("@AfterMethod");
-        // Quit the WebDriver and clean up ThreadLocal storage
+        PhaseTimer.bodyFinished(result);
+        // A test that didn't pass keeps its recorded usages in the impact map
+        ImpactRecorder.testFinished(result);
+        // Remove the session from this invocation and quit it
         // This prevents memory leaks and ensures clean state for next test
-        DriverFactory.quitDriver();
+        long releaseStart = System.nanoTime();
+        try {
+            DriverFactory.quitDriver(DriverContext.unbind(result));
+            PhaseTimer.record(result, Phase.DRIVER_RELEASE, releaseStart);
+        } finally {
+            // The browser is gone (or could not be quit) - let the next waiting method of any block start
+            SuiteScheduler.release(result);
+            // Normally released after the test method already; covers tests that never ran
+            ResourceLockListener.release(result);
+        }
+        log("[TIMING] " + PhaseTimer.finish(result));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,223 @@
+package framework.binding;
+
+import framework.core.LazyElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.support.ByIdOrName;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the generated @FindBy binders
+ * Compiles sample pages in-process with FindByProcessor, binds them and checks each field's
+ * locator against what PageFactory would use, or checks the compile errors for fields the
+ * binders can't assign. No browser is needed.
+ *
+ * Each method compiles into the working directories of the instance, so the methods of this
+ * class run on one thread.
+ */
+@Test(singleThreaded = true)
+public class FindByProcessorTest {
+
+    // Name declared at the end of a line: "... WebElement name;" or "... WebElement name = null;"
+    private static final Pattern FIELD_NAME = Pattern.compile("(\\w+)(\\s*=\\s*null)?;\\s*$");
+
+    private Path workDir;
+    private Path sourceDir;
+    private Path classesDir;
+
+    @BeforeMethod(alwaysRun = true)
+    public void createDirectories() throws IOException {
+        workDir = Files.createTempDirectory("find-by-processor");
+        sourceDir = Files.createDirectories(workDir.resolve("src/pages"));
+        classesDir = Files.createDirectories(workDir.resolve("classes"));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectories() throws IOException {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Test that @FindBy(using = ...) without how finds by id, like Selenium's How.UNSET
+     */
+    @Test(groups = {"binding"})
+    public void testUsingWithoutHowIsId() throws Exception {
+        writePage("UsingPage", "",
+                "@org.openqa.selenium.support.FindBy(using = \"q\") org.openqa.selenium.WebElement search;",
+                "@org.openqa.selenium.support.FindBy(how = org.openqa.selenium.support.How.NAME, using = \"u\")"
+                        + " org.openqa.selenium.WebElement user;");
+        assertCompiles();
+        Assert.assertEquals(locator("UsingPage", "UsingPage", "search"), By.id("q"));
+        Assert.assertEquals(locator("UsingPage", "UsingPage", "user"), By.name("u"));
+    }
+
+    /**
+     * Test that WebElement fields without @FindBy are found by their name as id or name,
+     * also in a page that has no @FindBy field at all
+     */
+    @Test(groups = {"binding"})
+    public void testUnannotatedFieldsAreBoundByIdOrName() throws Exception {
+        writePage("PlainPage", "", "org.openqa.selenium.WebElement username;",
+                "java.util.List<org.openqa.selenium.WebElement> rows;");
+        assertCompiles();
+        Assert.assertEquals(locator("PlainPage", "PlainPage", "username").toString(),
+                new ByIdOrName("username").toString());
+        Assert.assertNull(field("PlainPage", "PlainPage", "rows"),
+                "List<WebElement> fields need an annotation, like PageFactory");
+    }
+
+    /**
+     * Test that a page binds the fields of its superclasses, including a superclass with only
+     * unannotated fields and through a superclass without any element fields
+     */
+    @Test(groups = {"binding"})
+    public void testSuperclassFieldsAreBound() throws Exception {
+        writePage("BasePage", "", "org.openqa.selenium.WebElement header;");
+        writePage("MiddlePage", "extends BasePage", "String title;");
+        writePage("ChildPage", "extends MiddlePage",
+                "@org.openqa.selenium.support.FindBy(css = \"#login\") org.openqa.selenium.WebElement login;");
+        assertCompiles();
+        Assert.assertEquals(locator("ChildPage", "ChildPage", "login"), By.cssSelector("#login"));
+        Assert.assertEquals(locator("ChildPage", "BasePage", "header").toString(),
+                new ByIdOrName("header").toString());
+        Assert.assertFalse(Files.exists(classesDir.resolve("pages/MiddlePage_Elements.class")),
+                "A class without element fields needs no binder");
+    }
+
+    /**
+     * Test that fields the binder can't assign, and unsupported annotations, fail the build
+     */
+    @Test(groups = {"binding"})
+    public void testUnsupportedFieldsAreErrors() throws IOException {
+        writePage("BrokenPage", "",
+                "@org.openqa.selenium.support.FindBy(id = \"a\") private org.openqa.selenium.WebElement privateField;",
+                "@org.openqa.selenium.support.FindBy(id = \"b\") final org.openqa.selenium.WebElement finalField = null;",
+                "@org.openqa.selenium.support.FindBy(id = \"c\") static org.openqa.selenium.WebElement staticField;",
+                "private org.openqa.selenium.WebElement privateUnannotated;",
+                "@org.openqa.selenium.support.FindBys({@org.openqa.selenium.support.FindBy(id = \"d\")})"
+                        + " org.openqa.selenium.WebElement findBys;",
+                "@org.openqa.selenium.support.FindAll({@org.openqa.selenium.support.FindBy(id = \"e\")})"
+                        + " org.openqa.selenium.WebElement findAll;");
+        writePage("HiddenBasePage", "", "private org.openqa.selenium.WebElement hidden;");
+        writePage("HiddenChildPage", "extends HiddenBasePage",
+                "@org.openqa.selenium.support.FindBy(id = \"f\") org.openqa.selenium.WebElement visible;");
+        List<String> errors = compile();
+        for (String field : Arrays.asList("privateField", "finalField", "staticField", "privateUnannotated",
+                "findBys", "findAll", "hidden")) {
+            Assert.assertTrue(errors.stream().anyMatch(error -> error.startsWith(field + ":")),
+                    field + " should be reported, errors were " + errors);
+        }
+        Assert.assertTrue(errors.stream().anyMatch(error -> error.startsWith("findBys:") && error.contains("@FindBys")));
+        Assert.assertTrue(errors.stream().anyMatch(error -> error.startsWith("findAll:") && error.contains("@FindAll")));
+        Assert.assertEquals(errors.size(), 7, "Only the unsupported fields should be reported: " + errors);
+    }
+
+    // Writes pages/<name>.java with the given fields and the default constructor
+    private void writePage(String name, String extendsClause, String... fields) throws IOException {
+        StringBuilder source = new StringBuilder("package pages;\n\npublic class ")
+                .append(name).append(' ').append(extendsClause).append(" {\n");
+        for (String field : fields) {
+            source.append("    ").append(field).append('\n');
+        }
+        source.append("}\n");
+        Files.write(sourceDir.resolve(name + ".java"), source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Compiles the written pages with the processor, returns the errors as "<field>: <message>"
+    private List<String> compile() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assert.assertNotNull(compiler, "Run the tests on a JDK, not a JRE");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<Path> sources = new ArrayList<>();
+        try (Stream<Path> files = Files.list(sourceDir)) {
+            files.forEach(sources::add);
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            List<String> options = Arrays.asList("-d", classesDir.toString(),
+                    "-s", Files.createDirectories(workDir.resolve("generated")).toString(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-processor", FindByProcessor.class.getName(), "-encoding", "UTF-8");
+            compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources)).call();
+        }
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(fieldAt(diagnostic) + ": " + diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+
+    private void assertCompiles() throws IOException {
+        List<String> errors = compile();
+        Assert.assertTrue(errors.isEmpty(), "Pages should compile, errors were " + errors);
+    }
+
+    // Name of the field declared on the diagnostic's line (one field per line)
+    private static String fieldAt(Diagnostic<? extends JavaFileObject> diagnostic) {
+        try {
+            String line = diagnostic.getSource().getCharContent(true).toString()
+                    .split("\n")[(int) diagnostic.getLineNumber() - 1];
+            Matcher field = FIELD_NAME.matcher(line);
+            return field.find() ? field.group(1) : line.trim();
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+
+    // Binds a new instance of the page and returns the locator its field was bound with
+    private By locator(String page, String declaringClass, String field) throws Exception {
+        Object element = field(page, declaringClass, field);
+        Assert.assertNotNull(element, page + " should bind " + declaringClass + "." + field);
+        return ((LazyElement) element).getBy();
+    }
+
+    // Binds a new instance of the page with its generated binder and returns the field's value
+    private Object field(String page, String declaringClass, String field) throws Exception {
+        // Never called: LazyElement only searches when the element is used
+        SearchContext context = (SearchContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{SearchContext.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()},
+                getClass().getClassLoader())) {
+            Class<?> pageClass = loader.loadClass("pages." + page);
+            Object instance = pageClass.getConstructor().newInstance();
+            loader.loadClass("pages." + page + FindByProcessor.BINDER_SUFFIX)
+                    .getMethod("bind", pageClass, SearchContext.class).invoke(null, instance, context);
+            Field declared = loader.loadClass("pages." + declaringClass).getDeclaredField(field);
+            declared.setAccessible(true);
+            return declared.get(instance);
+        }
+    }
+}
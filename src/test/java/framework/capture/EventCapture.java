@@ -0,0 +1,169 @@
+package framework.capture;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * EventCapture class - Keeps the recent browser console and network events of each session
+ * Enabled with -Dcapture.events=<N>, the number of events kept per session (e.g. 200).
+ *
+ * DriverFactory asks for a WebDriver BiDi connection (the webSocketUrl capability) and calls
+ * attach() for every new session. Console entries, JavaScript errors, requests, responses and
+ * failed fetches then go into the session's EventRing. BaseTest clears the ring when a test
+ * starts, so it holds the last N events of that test only.
+ *
+ * Nothing is written for passing tests: TestListener calls writeFailure() from onTestFailure,
+ * which dumps the ring to -Dcapture.dir (default target/failure-events).
+ */
+public final class EventCapture {
+
+    // Events kept per session, 0 when capture is off
+    private static final int CAPACITY = Integer.getInteger("capture.events", 0);
+
+    // Directory for the failure dumps
+    private static final Path DIR = Paths.get(System.getProperty("capture.dir", "target/failure-events"));
+
+    // Subscriptions of each open session, keyed by the session handed out by DriverFactory
+    private static final Map<WebDriver, Subscription> SESSIONS = new ConcurrentHashMap<>();
+
+    // Sessions without BiDi support are reported once, not for every session
+    private static final AtomicBoolean UNSUPPORTED_LOGGED = new AtomicBoolean();
+
+    // Utility class - no instances
+    private EventCapture() {
+    }
+
+    /**
+     * @return true if -Dcapture.events is set to a positive number
+     */
+    public static boolean isEnabled() {
+        return CAPACITY > 0;
+    }
+
+    /**
+     * Subscribes to the console and network events of a new session
+     * Sessions whose browser or grid doesn't support BiDi are left without capture
+     *
+     * @param raw - The driver as created, before any EventFiringDecorator
+     * @param session - The driver handed out to tests, used as the key
+     */
+    public static void attach(WebDriver raw, WebDriver session) {
+        if (!isEnabled()) {
+            return;
+        }
+        LogInspector logs = null;
+        try {
+            // Remote sessions only implement HasBiDi once augmented
+            WebDriver bidi = raw instanceof HasBiDi ? raw : new Augmenter().augment(raw);
+            EventRing ring = new EventRing(CAPACITY);
+            logs = new LogInspector(bidi);
+            logs.onConsoleEntry(entry -> ring.add(EventRing.CONSOLE, entry.getTimestamp(), 0,
+                    entry.getMethod(), entry.getText()));
+            logs.onJavaScriptException(entry -> ring.add(EventRing.JS_ERROR, entry.getTimestamp(), 0,
+                    null, entry.getText()));
+            Network network = new Network(bidi);
+            network.onBeforeRequestSent(event -> ring.add(EventRing.REQUEST, event.getTimestamp(), 0,
+                    event.getRequest().getMethod(), event.getRequest().getUrl()));
+            network.onResponseCompleted(event -> ring.add(EventRing.RESPONSE, event.getTimestamp(),
+                    event.getResponseData().getStatus(), event.getRequest().getMethod(), event.getRequest().getUrl()));
+            network.onFetchError(event -> ring.add(EventRing.FETCH_ERROR, event.getTimestamp(), 0,
+                    event.getErrorText(), event.getRequest().getUrl()));
+            SESSIONS.put(session, new Subscription(ring, logs, network));
+        } catch (RuntimeException e) {
+            if (logs != null) {
+                close(logs);
+            }
+            if (UNSUPPORTED_LOGGED.compareAndSet(false, true)) {
+                System.out.println("[CAPTURE] BiDi events not available, sessions run without capture: "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Forgets the events recorded so far - the session starts a new test
+     *
+     * @param session - A session created by DriverFactory
+     */
+    public static void clear(WebDriver session) {
+        Subscription subscription = session == null ? null : SESSIONS.get(session);
+        if (subscription != null) {
+            subscription.ring.clear();
+        }
+    }
+
+    /**
+     * Writes the session's recent events for a failed test
+     *
+     * @param session - The failed test's session, may be null
+     * @param testName - Used in the file name, e.g. "OrangeHRMLoginTest.testSuccessfulLogin"
+     */
+    public static void writeFailure(WebDriver session, String testName) {
+        Subscription subscription = session == null ? null : SESSIONS.get(session);
+        if (subscription == null) {
+            return;
+        }
+        Path file = DIR.resolve(testName + "-" + System.currentTimeMillis() + ".log");
+        try {
+            Files.createDirectories(DIR);
+            int events;
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                events = subscription.ring.writeTo(out);
+            }
+            System.out.println("[CAPTURE] Wrote " + events + " browser events of " + testName + " to "
+                    + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("[CAPTURE] Could not write browser events of " + testName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Unsubscribes a session that is about to quit
+     *
+     * @param session - A session created by DriverFactory, may be null
+     */
+    public static void detach(WebDriver session) {
+        Subscription subscription = session == null ? null : SESSIONS.remove(session);
+        if (subscription != null) {
+            close(subscription.logs);
+            close(subscription.network);
+        }
+    }
+
+    // The BiDi connection may already be gone when the browser crashed
+    private static void close(AutoCloseable module) {
+        try {
+            module.close();
+        } catch (Exception e) {
+            // Nothing left to unsubscribe from
+        }
+    }
+
+    /**
+     * Subscription class - The ring and BiDi modules of one session
+     */
+    private static class Subscription {
+        private final EventRing ring;
+        private final LogInspector logs;
+        private final Network network;
+
+        Subscription(EventRing ring, LogInspector logs, Network network) {
+            this.ring = ring;
+            this.logs = logs;
+            this.network = network;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package framework.capture;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+
+/**
+ * EventRing class - The last N browser events of one session, in a fixed-size ring
+ * All arrays are allocated up front; add() overwrites the oldest slot, so recording an
+ * event costs a few array stores and never allocates. The strings stored are the ones the
+ * BiDi event already carries - formatting into text only happens in writeTo(), on failure.
+ *
+ * Events arrive on the BiDi connection thread while the test thread may clear or dump
+ * the ring, so every method is synchronized (uncontended almost all of the time).
+ */
+public final class EventRing {
+
+    // Event kinds, stored as bytes
+    static final byte CONSOLE = 0;
+    static final byte JS_ERROR = 1;
+    static final byte REQUEST = 2;
+    static final byte RESPONSE = 3;
+    static final byte FETCH_ERROR = 4;
+
+    private static final String[] KIND_LABELS = {"console", "js-error", "request", "response", "fetch-error"};
+
+    // Parallel arrays - slot i holds one event
+    private final byte[] kinds;
+    private final long[] timestamps;
+    private final long[] codes;
+    private final String[] details;
+    private final String[] texts;
+
+    // Next slot to write, and the number of valid slots (at most the capacity)
+    private int next;
+    private int size;
+    // Events overwritten since the last clear(), reported so a dump shows it is partial
+    private long dropped;
+
+    /**
+     * @param capacity - Number of events kept, e.g. 200
+     */
+    public EventRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring capacity must be positive: " + capacity);
+        }
+        kinds = new byte[capacity];
+        timestamps = new long[capacity];
+        codes = new long[capacity];
+        details = new String[capacity];
+        texts = new String[capacity];
+    }
+
+    /**
+     * Records one event, overwriting the oldest once the ring is full
+     *
+     * @param kind - One of the kind constants
+     * @param timestamp - Browser timestamp in epoch milliseconds
+     * @param code - HTTP status for responses, 0 otherwise
+     * @param detail - Log level, console method or HTTP method
+     * @param text - Message text or URL
+     */
+    synchronized void add(byte kind, long timestamp, long code, String detail, String text) {
+        int slot = next;
+        kinds[slot] = kind;
+        timestamps[slot] = timestamp;
+        codes[slot] = code;
+        details[slot] = detail;
+        texts[slot] = text;
+        next = slot + 1 == kinds.length ? 0 : slot + 1;
+        if (size < kinds.length) {
+            size++;
+        } else {
+            dropped++;
+        }
+    }
+
+    /**
+     * Forgets all events - called when the session starts a new test
+     * Only the indexes are reset; stale slots are overwritten by later events
+     */
+    public synchronized void clear() {
+        next = 0;
+        size = 0;
+        dropped = 0;
+    }
+
+    /**
+     * @return Number of events currently held
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Writes the held events, oldest first, one per line
+     *
+     * @param out - Destination, e.g. the failure log file
+     * @return Number of events written
+     */
+    public synchronized int writeTo(Writer out) throws IOException {
+        if (dropped > 0) {
+            out.write("... " + dropped + " earlier events dropped (ring holds " + kinds.length + ")\n");
+        }
+        int capacity = kinds.length;
+        int first = size < capacity ? 0 : next;
+        for (int i = 0; i < size; i++) {
+            int slot = (first + i) % capacity;
+            out.write(Instant.ofEpochMilli(timestamps[slot]).toString());
+            out.write(' ');
+            out.write(KIND_LABELS[kinds[slot]]);
+            if (details[slot] != null) {
+                out.write(' ');
+                out.write(details[slot]);
+            }
+            if (kinds[slot] == RESPONSE) {
+                out.write(" " + codes[slot]);
+            }
+            out.write(' ');
+            out.write(texts[slot] == null ? "" : texts[slot]);
+            out.write('\n');
+        }
+        return size;
+    }
+}
@@ -0,0 +1,22 @@
+package framework.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * BulkInput annotation - Opts a page object into direct value input
+ * TextInput.forPage() returns a DIRECT TextInput for annotated pages: values are set
+ * in a single script call with input/change events instead of typed key by key.
+ *
+ * Only use it on pages whose fields don't react to individual key events
+ * (autocomplete, input masks, keyboard shortcuts). -Dinput.mode=keystrokes turns it
+ * off everywhere, e.g. to check a failure with real typing.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BulkInput {
+}
@@ -0,0 +1,78 @@
+package framework.core;
+
+// Import Selenium WebDriver for the session being bound
+import org.openqa.selenium.WebDriver;
+// Import TestNG classes to bind the session to a single test invocation
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+/**
+ * DriverContext class - Binds a WebDriver session to a single test invocation
+ * The driver is stored as an attribute of the test's ITestResult, so it belongs to
+ * one invocation only and is never shared through a field of the test class instance.
+ * This keeps parallel="methods" safe at any thread-count, because methods of the same
+ * class share one instance but each invocation has its own ITestResult.
+ */
+public final class DriverContext {
+
+    // Attribute name used to store the WebDriver on the ITestResult
+    private static final String DRIVER_ATTRIBUTE = DriverContext.class.getName() + ".driver";
+
+    // Utility class - no instances
+    private DriverContext() {
+    }
+
+    /**
+     * Binds a WebDriver to the given test invocation
+     * Called from @BeforeMethod, where TestNG injects the ITestResult of the test about to run
+     *
+     * @param result - The ITestResult of the test invocation
+     * @param driver - The WebDriver created for this invocation
+     */
+    public static void bind(ITestResult result, WebDriver driver) {
+        result.setAttribute(DRIVER_ATTRIBUTE, driver);
+    }
+
+    /**
+     * Returns the WebDriver bound to the given test invocation
+     *
+     * @param result - The ITestResult of the test invocation
+     * @return WebDriver bound to the invocation, or null if none is bound
+     */
+    public static WebDriver get(ITestResult result) {
+        if (result == null) {
+            return null;
+        }
+        return (WebDriver) result.getAttribute(DRIVER_ATTRIBUTE);
+    }
+
+    /**
+     * Removes the WebDriver binding from the given test invocation
+     * Called from @AfterMethod before the session is released
+     *
+     * @param result - The ITestResult of the test invocation
+     * @return WebDriver that was bound to the invocation, or null if none was bound
+     */
+    public static WebDriver unbind(ITestResult result) {
+        if (result == null) {
+            return null;
+        }
+        return (WebDriver) result.removeAttribute(DRIVER_ATTRIBUTE);
+    }
+
+    /**
+     * Returns the WebDriver bound to the test invocation currently running on this thread
+     * TestNG tracks the running invocation through Reporter.getCurrentTestResult()
+     *
+     * @return WebDriver of the current test invocation
+     * @throws IllegalStateException if no driver is bound to the current invocation
+     */
+    public static WebDriver current() {
+        WebDriver driver = get(Reporter.getCurrentTestResult());
+        if (driver == null) {
+            throw new IllegalStateException(
+                    "No WebDriver is bound to the current test invocation. Was @BeforeMethod called?");
+        }
+        return driver;
+    }
+}
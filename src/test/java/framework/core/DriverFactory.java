@@ -1,16 +1,41 @@
 package framework.core;
 
 // Import required Selenium WebDriver classes
+import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 // Import WebDriverManager for automatic driver binary management
 import io.github.bonigarcia.wdm.WebDriverManager;
+// Import SuiteMetrics to report session startup latency and open sessions
+import framework.metrics.SuiteMetrics;
+// Import EventCapture to keep recent console and network events for failure reports
+import framework.capture.EventCapture;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * DriverFactory class - Manages WebDriver instances for parallel test execution
  * Uses ThreadLocal to ensure each test thread gets its own WebDriver instance
+ * createDriver() hands out sessions that the caller owns, for per-invocation binding
+ * Chrome and Edge sessions start from a cloned ProfileTemplate when -Dprofile.template is set
+ * With a grid configured (useGrid), sessions run remotely through RemoteGrid instead
+ * With -Dcapture.events set, sessions open a BiDi connection for EventCapture
  */
 public class DriverFactory {
     
@@ -19,6 +44,242 @@ public class DriverFactory {
     // ThreadLocal<WebDriver> means each thread stores its own WebDriver object
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
 
+    // Listeners notified of every call on sessions created by createDriver()
+    // Registered once at suite start, e.g. by MetricsServer to count commands
+    private static final List<WebDriverListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Browsers whose driver binary WebDriverManager has already resolved in this JVM
+    private static final Set<String> resolvedBrowsers = ConcurrentHashMap.newKeySet();
+
+    // Pool of reusable sessions, null unless a long-lived process installed one
+    private static volatile DriverPool pool;
+
+    // Cloned profile directory of each open session, deleted when the session quits
+    private static final Map<WebDriver, Path> profiles = new ConcurrentHashMap<>();
+
+    private static final String USER_DATA_DIR = "--user-data-dir=";
+
+    // Selenium Grid address, null to start local browsers
+    private static volatile URL gridUrl;
+
+    /**
+     * Registers a listener for all sessions created after this call
+     * When no listener is registered, sessions are returned undecorated
+     * 
+     * @param listener - WebDriverListener to notify of every WebDriver call
+     */
+    public static void addListener(WebDriverListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with addListener(), for sessions created after this call
+     * Called at suite end, so a long-lived process (the runner daemon) doesn't stack
+     * one more copy of each listener on every run
+     * 
+     * @param listener - The listener instance passed to addListener()
+     */
+    public static void removeListener(WebDriverListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs all sessions created from now on on a Selenium Grid (see RemoteGrid)
+     * 
+     * @param url - Grid address, e.g. http://localhost:4444; null or empty for local browsers
+     */
+    public static void useGrid(String url) {
+        try {
+            gridUrl = url == null || url.isEmpty() ? null : new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid grid URL: " + url, e);
+        }
+    }
+
+    /**
+     * Installs a pool that keeps released sessions alive for the next createDriver() call
+     * Used by the runner daemon; pass null to go back to one session per call
+     * 
+     * @param driverPool - The pool to use, or null
+     */
+    public static void usePool(DriverPool driverPool) {
+        pool = driverPool;
+    }
+
+    /**
+     * Creates a new WebDriver session that is not tied to any thread
+     * Used by BaseTest, which binds the session to a single test invocation via DriverContext
+     * Runs headless when -Dheadless=true is set
+     * Hands out a session prewarmed on the grid first (see RemoteGrid.prewarm)
+     * Reuses an idle session when a DriverPool is installed
+     * 
+     * @param browser - The browser type ("chrome", "firefox" or "edge")
+     * @return New WebDriver instance owned by the caller
+     */
+    public static WebDriver createDriver(String browser) {
+        WebDriver prewarmed = RemoteGrid.takePrewarmed(browser);
+        if (prewarmed != null) {
+            return prewarmed;
+        }
+        DriverPool driverPool = pool;
+        if (driverPool != null) {
+            WebDriver pooled = driverPool.acquire(browser);
+            if (pooled != null) {
+                return pooled;
+            }
+            WebDriver created = createDriver(browser, Boolean.getBoolean("headless"));
+            driverPool.track(created, browser);
+            return created;
+        }
+        return createDriver(browser, Boolean.getBoolean("headless"));
+    }
+
+    /**
+     * Creates a new WebDriver session that is not tied to any thread
+     * 
+     * @param browser - The browser type ("chrome", "firefox" or "edge")
+     * @param headless - true to start the browser without a window, e.g. for load runs
+     * @return New WebDriver instance owned by the caller
+     */
+    public static WebDriver createDriver(String browser, boolean headless) {
+        long startupStart = System.nanoTime();
+        // Read once, so a concurrent useGrid() can't switch backends halfway through
+        URL grid = gridUrl;
+        WebDriver newDriver;
+        // Cloned profile directory of this session, null when profile templates are off
+        Path profile = null;
+        
+        // If browser parameter is "firefox" (case-insensitive)
+        if (browser.equalsIgnoreCase("firefox")) {
+            // Setup Firefox driver binary automatically
+            if (grid == null && !resolvedBrowsers.contains("firefox")) {
+                WebDriverManager.firefoxdriver().setup();
+                resolvedBrowsers.add("firefox");
+            }
+            FirefoxOptions options = new FirefoxOptions();
+            if (headless) {
+                options.addArguments("-headless");
+            }
+            requestBiDi(options);
+            newDriver = grid != null ? RemoteGrid.createSession(grid, options) : new FirefoxDriver(options);
+        } 
+        else if(browser.equalsIgnoreCase("edge")){
+            if (grid == null && !resolvedBrowsers.contains("edge")) {
+                WebDriverManager.edgedriver().setup();
+                resolvedBrowsers.add("edge");
+            }
+            EdgeOptions options = edgeOptions(headless);
+            if (grid != null) {
+                newDriver = RemoteGrid.createSession(grid, options);
+            } else {
+                profile = cloneProfile("edge",
+                        dir -> new EdgeDriver(edgeOptions(headless).addArguments(USER_DATA_DIR + dir)).quit());
+                if (profile != null) {
+                    options.addArguments(USER_DATA_DIR + profile);
+                }
+                newDriver = startOrDeleteProfile(() -> new EdgeDriver(options), profile);
+            }
+        }
+        else {
+            // Default to Chrome (if browser is "chrome" or any other value)
+            // Setup Chrome driver binary automatically, once per JVM
+            if (grid == null && !resolvedBrowsers.contains("chrome")) {
+                WebDriverManager.chromedriver().setup();
+                resolvedBrowsers.add("chrome");
+            }
+            ChromeOptions options = chromeOptions(headless);
+            if (grid != null) {
+                newDriver = RemoteGrid.createSession(grid, options);
+            } else {
+                // Start from a clone of the prepared profile when -Dprofile.template is set
+                profile = cloneProfile("chrome",
+                        dir -> new ChromeDriver(chromeOptions(headless).addArguments(USER_DATA_DIR + dir)).quit());
+                if (profile != null) {
+                    options.addArguments(USER_DATA_DIR + profile);
+                }
+                newDriver = startOrDeleteProfile(() -> new ChromeDriver(options), profile);
+            }
+        }
+        
+        return finish(newDriver, profile, startupStart);
+    }
+
+    // Common setup of every new session, local or remote
+    private static WebDriver finish(WebDriver newDriver, Path profile, long startupStart) {
+        // BiDi subscriptions need the real driver, not the decorator
+        WebDriver raw = newDriver;
+        try {
+            // Maximize the browser window for the newly created driver
+            newDriver.manage().window().maximize();
+
+            // Wrap the session so registered listeners see every call
+            if (!listeners.isEmpty()) {
+                newDriver = new EventFiringDecorator<>(WebDriver.class, listeners.toArray(new WebDriverListener[0]))
+                        .decorate(newDriver);
+            }
+            EventCapture.attach(raw, newDriver);
+        } catch (RuntimeException e) {
+            // The caller never gets the session, so nothing else would quit it or delete its profile
+            EventCapture.detach(newDriver);
+            try {
+                raw.quit();
+            } catch (RuntimeException quitFailure) {
+                e.addSuppressed(quitFailure);
+            } finally {
+                ProfileTemplate.delete(profile);
+            }
+            throw e;
+        }
+        // Counted and tracked only once the session is handed out
+        if (profile != null) {
+            profiles.put(newDriver, profile);
+        }
+        SuiteMetrics.sessionStarted(System.nanoTime() - startupStart);
+        return newDriver;
+    }
+
+    // Asks the browser for a WebDriver BiDi connection when event capture is on
+    private static void requestBiDi(MutableCapabilities options) {
+        if (EventCapture.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+    }
+
+    // Chrome options shared by test sessions and profile template preparation
+    private static ChromeOptions chromeOptions(boolean headless) {
+        ChromeOptions options = new ChromeOptions();
+        if (headless) {
+            // Headless windows default to 800x600, which maximize() does not change
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        requestBiDi(options);
+        return options;
+    }
+
+    private static EdgeOptions edgeOptions(boolean headless) {
+        EdgeOptions options = new EdgeOptions();
+        if (headless) {
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        requestBiDi(options);
+        return options;
+    }
+
+    // Returns a fresh clone of the browser's profile template, or null when templates are off
+    private static Path cloneProfile(String browser, Consumer<Path> prepare) {
+        return ProfileTemplate.isEnabled() ? ProfileTemplate.cloneFor(browser, prepare) : null;
+    }
+
+    // Starts the browser; a clone is deleted again if the browser fails to start
+    private static WebDriver startOrDeleteProfile(Supplier<WebDriver> start, Path profile) {
+        try {
+            return start.get();
+        } catch (RuntimeException e) {
+            ProfileTemplate.delete(profile);
+            throw e;
+        }
+    }
+
     /**
      * Returns the WebDriver instance for the current thread
      * Creates a new driver if one doesn't exist for this thread
@@ -30,29 +291,8 @@ public class DriverFactory {
         // Check if current thread already has a WebDriver instance
         // driver.get() returns null if no driver exists for this thread
         if (driver.get() == null) {
-            
-            // If browser parameter is "firefox" (case-insensitive)
-            if (browser.equalsIgnoreCase("firefox")) {
-                // Setup Firefox driver binary automatically
-                WebDriverManager.firefoxdriver().setup();
-                // Create new FirefoxDriver and store it for current thread
-                driver.set(new FirefoxDriver());
-            } 
-            else if(browser.equalsIgnoreCase("edge")){
-                WebDriverManager.edgedriver().setup();
-                driver.set(new EdgeDriver());
-            }
-            else {
-                // Default to Chrome (if browser is "chrome" or any other value)
-                // Setup Chrome driver binary automatically
-                WebDriverManager.chromedriver().setup();
-                // Create new ChromeDriver and store it for current thread
-                driver.set(new ChromeDriver());
-            }
-            
-            // Maximize the browser window for the newly created driver
-            // driver.get() gets the driver we just set for this thread
-            driver.get().manage().window().maximize();
+            // Create new driver and store it for current thread
+            driver.set(createDriver(browser));
         }
         
         // Return the WebDriver instance for the current thread
@@ -78,11 +318,44 @@ public class DriverFactory {
     public static void quitDriver() {
         // Check if current thread has a WebDriver instance
         if (driver.get() != null) {
-            // Quit the WebDriver (closes browser and releases resources)
-            driver.get().quit();
-            // Remove the WebDriver instance from ThreadLocal for this thread
-            // This prevents memory leaks and allows garbage collection
-            driver.remove();
+            try {
+                EventCapture.detach(driver.get());
+                // Quit the WebDriver (closes browser and releases resources)
+                driver.get().quit();
+            } finally {
+                // A failed quit() still ends the session for us - count it and clean up
+                SuiteMetrics.sessionClosed();
+                ProfileTemplate.delete(profiles.remove(driver.get()));
+                // Remove the WebDriver instance from ThreadLocal for this thread
+                // This prevents memory leaks and allows garbage collection
+                driver.remove();
+            }
+        }
+    }
+
+    /**
+     * Quits a WebDriver created by createDriver()
+     * Safe to call with null, so teardown works even if setup failed
+     * With a DriverPool installed, the session is reset and kept for reuse instead
+     * 
+     * @param session - The WebDriver to quit
+     */
+    public static void quitDriver(WebDriver session) {
+        DriverPool driverPool = pool;
+        if (driverPool != null && session != null && driverPool.release(session)) {
+            return;
+        }
+        if (session != null) {
+            try {
+                EventCapture.detach(session);
+                // Quit the WebDriver (closes browser and releases resources)
+                session.quit();
+            } finally {
+                // A failed quit() still ends the session for us - count it and clean up
+                SuiteMetrics.sessionClosed();
+                // The browser has exited (or is beyond saving), so its cloned profile can go
+                ProfileTemplate.delete(profiles.remove(session));
+            }
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package framework.core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverPool class - Keeps released browser sessions alive for reuse
+ * Installed with DriverFactory.usePool() by long-lived processes such as the runner daemon.
+ * createDriver() then hands out an idle session of the same browser when there is one,
+ * and quitDriver() resets the session and parks it here instead of quitting it.
+ *
+ * A reset clears cookies and the current page's local/session storage, then loads
+ * about:blank; sessions that no longer respond are quit and dropped.
+ */
+public class DriverPool {
+
+    // Idle sessions per browser name (lower case)
+    private final Map<String, Deque<WebDriver>> idle = new ConcurrentHashMap<>();
+
+    // Browser of every session handed out by this pool, so release() knows where it goes
+    private final Map<WebDriver, String> browsers = new ConcurrentHashMap<>();
+
+    // Maximum idle sessions kept per browser; extra released sessions are quit
+    private final int maxIdle;
+
+    /**
+     * @param maxIdle - Maximum idle sessions kept per browser
+     */
+    public DriverPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Takes an idle session for the browser
+     *
+     * @param browser - The browser type ("chrome", "firefox" or "edge")
+     * @return A reset, responsive session, or null if none is idle
+     */
+    WebDriver acquire(String browser) {
+        Deque<WebDriver> sessions = idle.get(browser.toLowerCase());
+        while (sessions != null) {
+            WebDriver session;
+            synchronized (sessions) {
+                session = sessions.pollFirst();
+            }
+            if (session == null) {
+                return null;
+            }
+            if (isAlive(session)) {
+                return session;
+            }
+            discard(session);
+        }
+        return null;
+    }
+
+    /**
+     * Registers a session created by DriverFactory for this pool
+     */
+    void track(WebDriver session, String browser) {
+        browsers.put(session, browser.toLowerCase());
+    }
+
+    /**
+     * Resets a session and keeps it for the next acquire()
+     *
+     * @param session - A session handed out while this pool was installed
+     * @return true if the pool kept the session, false if the caller should quit it
+     */
+    boolean release(WebDriver session) {
+        String browser = browsers.get(session);
+        if (browser == null) {
+            return false;
+        }
+        try {
+            // Storage belongs to the page's origin, so it is cleared before navigating away
+            if (session instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) session).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            session.manage().deleteAllCookies();
+            session.get("about:blank");
+        } catch (WebDriverException e) {
+            browsers.remove(session);
+            return false;
+        }
+        Deque<WebDriver> sessions = idle.computeIfAbsent(browser, name -> new ArrayDeque<>());
+        synchronized (sessions) {
+            if (sessions.size() < maxIdle) {
+                sessions.addFirst(session);
+                return true;
+            }
+        }
+        browsers.remove(session);
+        return false;
+    }
+
+    /**
+     * @return Number of idle sessions, over all browsers
+     */
+    public int idleCount() {
+        int count = 0;
+        for (Deque<WebDriver> sessions : idle.values()) {
+            synchronized (sessions) {
+                count += sessions.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Quits all idle sessions
+     * Called when the owning process shuts down
+     */
+    public void close() {
+        for (Deque<WebDriver> sessions : idle.values()) {
+            while (true) {
+                WebDriver session;
+                synchronized (sessions) {
+                    session = sessions.pollFirst();
+                }
+                if (session == null) {
+                    break;
+                }
+                discard(session);
+            }
+        }
+    }
+
+    private static boolean isAlive(WebDriver session) {
+        try {
+            session.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    // A dead session often fails to quit too - that must not stop acquire() or close()
+    private void discard(WebDriver session) {
+        browsers.remove(session);
+        try {
+            DriverFactory.quitDriver(session);
+        } catch (WebDriverException e) {
+            System.err.println("[POOL] Could not quit a pooled session: " + e.getMessage());
+        }
+    }
+}
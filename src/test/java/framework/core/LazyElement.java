@@ -0,0 +1,192 @@
+package framework.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+
+/**
+ * LazyElement class - WebElement that looks itself up on every use
+ * Plain-Java replacement for the dynamic proxies PageFactory creates: the generated
+ * <Page>_Elements binders (see framework.binding.FindByProcessor) assign one of these
+ * to each @FindBy field. Same semantics as PageFactory - the element is found again
+ * on every call, unless the field is marked @CacheLookup.
+ */
+public class LazyElement implements WebElement, WrapsElement, Locatable {
+
+    private final SearchContext context;
+    private final By by;
+    private final boolean cacheLookup;
+
+    // Element found on first use, kept only for @CacheLookup fields
+    private WebElement cached;
+
+    /**
+     * @param context - Where to search, usually the WebDriver
+     * @param by - Locator built from the @FindBy annotation
+     * @param cacheLookup - true if the field is annotated with @CacheLookup
+     */
+    public LazyElement(SearchContext context, By by, boolean cacheLookup) {
+        this.context = context;
+        this.by = by;
+        this.cacheLookup = cacheLookup;
+    }
+
+    /**
+     * @return The locator this element is found with
+     */
+    public By getBy() {
+        return by;
+    }
+
+    // Finds the element now, or returns the cached one for @CacheLookup fields
+    private WebElement element() {
+        if (cached != null) {
+            return cached;
+        }
+        WebElement element = context.findElement(by);
+        if (cacheLookup) {
+            cached = element;
+        }
+        return element;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        return element();
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        WebElement element = element();
+        if (!(element instanceof Locatable)) {
+            throw new WebDriverException("Element does not implement Locatable: " + by);
+        }
+        return ((Locatable) element).getCoordinates();
+    }
+
+    @Override
+    public void click() {
+        element().click();
+    }
+
+    @Override
+    public void submit() {
+        element().submit();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        element().sendKeys(keysToSend);
+    }
+
+    @Override
+    public void clear() {
+        element().clear();
+    }
+
+    @Override
+    public String getTagName() {
+        return element().getTagName();
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return element().getDomProperty(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return element().getDomAttribute(name);
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return element().getAttribute(name);
+    }
+
+    @Override
+    public String getAriaRole() {
+        return element().getAriaRole();
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return element().getAccessibleName();
+    }
+
+    @Override
+    public boolean isSelected() {
+        return element().isSelected();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return element().isEnabled();
+    }
+
+    @Override
+    public String getText() {
+        return element().getText();
+    }
+
+    @Override
+    public List<WebElement> findElements(By locator) {
+        return element().findElements(locator);
+    }
+
+    @Override
+    public WebElement findElement(By locator) {
+        return element().findElement(locator);
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return element().getShadowRoot();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return element().isDisplayed();
+    }
+
+    @Override
+    public Point getLocation() {
+        return element().getLocation();
+    }
+
+    @Override
+    public Dimension getSize() {
+        return element().getSize();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return element().getRect();
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return element().getCssValue(propertyName);
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return element().getScreenshotAs(target);
+    }
+
+    // Never touches the browser, so it is safe in logs and wait timeout messages
+    @Override
+    public String toString() {
+        return "Lazy element for: " + by;
+    }
+}
@@ -0,0 +1,67 @@
+package framework.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * LazyElementList class - List<WebElement> that looks its elements up on every use
+ * Counterpart of LazyElement for @FindBy fields of type List<WebElement>.
+ */
+public class LazyElementList extends AbstractList<WebElement> {
+
+    private final SearchContext context;
+    private final By by;
+    private final boolean cacheLookup;
+
+    // Elements found on first use, kept only for @CacheLookup fields
+    private List<WebElement> cached;
+
+    /**
+     * @param context - Where to search, usually the WebDriver
+     * @param by - Locator built from the @FindBy annotation
+     * @param cacheLookup - true if the field is annotated with @CacheLookup
+     */
+    public LazyElementList(SearchContext context, By by, boolean cacheLookup) {
+        this.context = context;
+        this.by = by;
+        this.cacheLookup = cacheLookup;
+    }
+
+    // Finds the elements now, or returns the cached ones for @CacheLookup fields
+    private List<WebElement> elements() {
+        if (cached != null) {
+            return cached;
+        }
+        List<WebElement> elements = context.findElements(by);
+        if (cacheLookup) {
+            cached = elements;
+        }
+        return elements;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    // One lookup per iteration, like the PageFactory list proxy
+    @Override
+    public Iterator<WebElement> iterator() {
+        return elements().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy element list for: " + by;
+    }
+}
@@ -0,0 +1,203 @@
+package framework.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * ProfileTemplate class - Starts Chrome and Edge sessions from a prepared profile instead of an empty one
+ * Enabled with -Dprofile.template=<dir>. The first session of each browser runs the browser once
+ * with <dir>/<browser> as its user data directory, so first-run setup, component downloads and
+ * caches end up in the template. Every session then gets its own clone of the template in a
+ * temporary directory, which DriverFactory deletes when the session quits.
+ *
+ * Clones are copy-on-write where the file system supports it (cp --reflink on Btrfs/XFS,
+ * cp -c on APFS), which costs almost no time or disk; elsewhere the template is copied.
+ * Hardlinks are never used: Chrome rewrites its SQLite and LevelDB files in place, so a
+ * hardlinked clone would write through to the template and every other clone.
+ */
+public final class ProfileTemplate {
+
+    // Template root, null when the feature is off
+    private static final String TEMPLATE_ROOT = System.getProperty("profile.template");
+
+    // Lock files of a running browser - never part of a clone
+    private static final String SINGLETON_PREFIX = "Singleton";
+
+    // null until the first clone tells us whether copy-on-write copies work here
+    private static volatile Boolean copyOnWrite;
+
+    // Clones not yet deleted, cleaned up at JVM exit if a session was never quit
+    private static final Set<Path> LIVE_CLONES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Path clone : LIVE_CLONES) {
+                delete(clone);
+            }
+        }, "profile-template-cleanup"));
+    }
+
+    // Utility class - no instances
+    private ProfileTemplate() {
+    }
+
+    /**
+     * @return true if -Dprofile.template is set
+     */
+    public static boolean isEnabled() {
+        return TEMPLATE_ROOT != null;
+    }
+
+    /**
+     * Clones the browser's template into a new temporary profile directory
+     * Prepares the template first if it does not exist yet
+     *
+     * @param browser - "chrome" or "edge"
+     * @param prepare - Runs the browser once with the given user data directory
+     * @return The new profile directory, owned by the caller
+     */
+    static Path cloneFor(String browser, Consumer<Path> prepare) {
+        Path template = Paths.get(TEMPLATE_ROOT, browser);
+        try {
+            prepareIfMissing(template, prepare);
+            Path clone = Files.createTempDirectory("selenium-" + browser + "-profile-");
+            LIVE_CLONES.add(clone);
+            copy(template, clone);
+            return clone;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clone browser profile template " + template, e);
+        }
+    }
+
+    /**
+     * Deletes a profile directory created by cloneFor()
+     * Safe to call with null
+     *
+     * @param clone - The profile directory
+     */
+    static void delete(Path clone) {
+        if (clone == null) {
+            return;
+        }
+        LIVE_CLONES.remove(clone);
+        try (Stream<Path> paths = Files.walk(clone)) {
+            // Children before their parent directories
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("[PROFILE] Could not delete " + clone + ": " + e.getMessage());
+        }
+    }
+
+    // Synchronized so parallel first sessions prepare the template only once
+    private static synchronized void prepareIfMissing(Path template, Consumer<Path> prepare) throws IOException {
+        if (Files.isDirectory(template)) {
+            return;
+        }
+        long start = System.nanoTime();
+        // Prepare in a side directory and move it in place, so a failed run leaves no half template
+        Path staging = template.resolveSibling(template.getFileName() + ".preparing");
+        // Left behind if an earlier JVM died while preparing - never prepare on top of it
+        if (Files.exists(staging)) {
+            delete(staging);
+        }
+        Files.createDirectories(staging);
+        try {
+            prepare.accept(staging);
+            Files.move(staging, template, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            delete(staging);
+            throw e;
+        }
+        System.out.printf("[PROFILE] Prepared %s in %.1fs%n", template.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static void copy(Path template, Path clone) throws IOException {
+        if (!Boolean.FALSE.equals(copyOnWrite)) {
+            boolean cloned = copyOnWriteCopy(template, clone);
+            if (copyOnWrite == null) {
+                copyOnWrite = cloned;
+                if (!cloned) {
+                    System.out.println("[PROFILE] Copy-on-write copies are not supported here - copying profiles");
+                }
+            }
+            if (cloned) {
+                removeLockFiles(clone);
+                return;
+            }
+        }
+        Files.walkFileTree(template, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(clone.resolve(template.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!file.getFileName().toString().startsWith(SINGLETON_PREFIX)) {
+                    Files.copy(file, clone.resolve(template.relativize(file).toString()),
+                            StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // Reflink (Linux) or clonefile (macOS) copy through cp; false if the file system can't do it
+    private static boolean copyOnWriteCopy(Path template, Path clone) {
+        String source = template.toAbsolutePath() + "/.";
+        ProcessBuilder command = System.getProperty("os.name").toLowerCase().contains("mac")
+                ? new ProcessBuilder("cp", "-c", "-R", source, clone.toString())
+                : new ProcessBuilder("cp", "-a", "--reflink=always", source, clone.toString());
+        try {
+            Process process = command.redirectErrorStream(true).start();
+            // Drain cp's messages so it can't block on a full pipe
+            try (InputStream output = process.getInputStream()) {
+                byte[] buffer = new byte[1024];
+                while (output.read(buffer) != -1) {
+                    // discard
+                }
+            }
+            if (process.waitFor() == 0) {
+                return true;
+            }
+        } catch (IOException e) {
+            // No cp on this system (e.g. Windows)
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Remove whatever a failed copy left behind before the fallback copy
+        delete(clone);
+        try {
+            Files.createDirectories(clone);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LIVE_CLONES.add(clone);
+        return false;
+    }
+
+    private static void removeLockFiles(Path clone) throws IOException {
+        try (Stream<Path> files = Files.list(clone)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith(SINGLETON_PREFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
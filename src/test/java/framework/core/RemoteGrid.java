@@ -0,0 +1,211 @@
+package framework.core;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.LocalFileDetector;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * RemoteGrid class - Runs sessions on a Selenium Grid or standalone server instead of local browsers
+ * Enabled through the "gridUrl" suite parameter (or -Dgrid.url), which BaseTest passes to
+ * DriverFactory.useGrid(). Try it locally with a standalone server on the same machine:
+ *
+ *   java -jar selenium-server-4.19.1.jar standalone
+ *   mvn test -Dgrid.url=http://localhost:4444
+ *
+ * All sessions to the same grid share one HTTP client, so commands reuse pooled keep-alive
+ * connections instead of opening a connection per session. Timeouts come from
+ * -Dgrid.connectTimeout (default 10s) and -Dgrid.readTimeout (default 120s; session
+ * creation may wait in the grid's queue that long).
+ */
+public final class RemoteGrid {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(Integer.getInteger("grid.connectTimeout", 10));
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(Integer.getInteger("grid.readTimeout", 120));
+
+    // Selenium's default client implementation, used for the shared clients
+    private static final HttpClient.Factory DEFAULT_FACTORY = HttpClient.Factory.createDefault();
+
+    // One shared client per grid address
+    private static final Map<String, HttpClient> SHARED_CLIENTS = new ConcurrentHashMap<>();
+
+    // Hands every session a view of the shared client for its grid
+    private static final HttpClient.Factory SHARED_FACTORY = config -> new SharedClient(
+            SHARED_CLIENTS.computeIfAbsent(config.baseUri().toString(), address -> DEFAULT_FACTORY.createClient(config)));
+
+    // Prewarmed sessions not handed out yet, per browser name (lower case)
+    private static final Map<String, Deque<WebDriver>> PREWARMED = new ConcurrentHashMap<>();
+
+    // Utility class - no instances
+    private RemoteGrid() {
+    }
+
+    /**
+     * Starts a session on the grid
+     * Called by DriverFactory.createDriver() when a grid is configured
+     *
+     * @param grid - Grid address, e.g. http://localhost:4444
+     * @param capabilities - The browser options
+     * @return The remote session
+     */
+    static WebDriver createSession(URL grid, Capabilities capabilities) {
+        ClientConfig config = ClientConfig.defaultConfig()
+                .baseUrl(grid)
+                .connectionTimeout(CONNECT_TIMEOUT)
+                .readTimeout(READ_TIMEOUT);
+        RemoteWebDriver session = new RemoteWebDriver(
+                new HttpCommandExecutor(Collections.emptyMap(), config, SHARED_FACTORY), capabilities);
+        // sendKeys() with a local file path uploads the file to the node
+        session.setFileDetector(new LocalFileDetector());
+        return session;
+    }
+
+    /**
+     * Creates sessions concurrently for the first tests to pick up
+     * Used with -Dgrid.prewarm=<sessions>, so the grid starts browsers in parallel up front
+     * instead of one by one as the first tests arrive. Each prewarmed session is handed out
+     * once by DriverFactory.createDriver() and quit normally by its test; sessions are never
+     * recycled between tests, so no browser state carries over
+     *
+     * @param browser - The browser type ("chrome", "firefox" or "edge")
+     * @param sessions - Number of sessions to start
+     */
+    public static synchronized void prewarm(String browser, int sessions) throws InterruptedException {
+        if (sessions <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean headless = Boolean.getBoolean("headless");
+        Deque<WebDriver> ready = PREWARMED.computeIfAbsent(browser.toLowerCase(), name -> new ArrayDeque<>());
+        ExecutorService starters = Executors.newFixedThreadPool(sessions);
+        int count = 0;
+        try {
+            List<Future<WebDriver>> started = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                // The pool-less overload, so an installed DriverPool never sees these sessions
+                started.add(starters.submit(() -> DriverFactory.createDriver(browser, headless)));
+            }
+            for (Future<WebDriver> session : started) {
+                try {
+                    WebDriver created = session.get();
+                    synchronized (ready) {
+                        ready.addLast(created);
+                    }
+                    count++;
+                } catch (java.util.concurrent.ExecutionException e) {
+                    System.err.println("[GRID] Could not prewarm a session: " + e.getCause().getMessage());
+                }
+            }
+        } finally {
+            starters.shutdown();
+        }
+        System.out.printf("[GRID] Prewarmed %d %s sessions in %.1fs%n", count, browser,
+                (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    /**
+     * Hands out a prewarmed session, once
+     * Called by DriverFactory.createDriver() before it starts a new session
+     *
+     * @param browser - The browser type ("chrome", "firefox" or "edge")
+     * @return A responsive prewarmed session, or null if none is left
+     */
+    static WebDriver takePrewarmed(String browser) {
+        Deque<WebDriver> ready = PREWARMED.get(browser.toLowerCase());
+        while (ready != null) {
+            WebDriver session;
+            synchronized (ready) {
+                session = ready.pollFirst();
+            }
+            if (session == null) {
+                return null;
+            }
+            try {
+                // The grid may have timed out a session that waited too long
+                session.getWindowHandle();
+                return session;
+            } catch (WebDriverException e) {
+                quitQuietly(session);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quits prewarmed sessions no test picked up and closes the shared HTTP clients
+     * Called once from BaseTest @AfterSuite; an installed DriverPool is left alone
+     */
+    public static synchronized void shutdown() {
+        for (Deque<WebDriver> ready : PREWARMED.values()) {
+            while (true) {
+                WebDriver session;
+                synchronized (ready) {
+                    session = ready.pollFirst();
+                }
+                if (session == null) {
+                    break;
+                }
+                quitQuietly(session);
+            }
+        }
+        for (HttpClient client : SHARED_CLIENTS.values()) {
+            client.close();
+        }
+        SHARED_CLIENTS.clear();
+    }
+
+    private static void quitQuietly(WebDriver session) {
+        try {
+            DriverFactory.quitDriver(session);
+        } catch (WebDriverException e) {
+            System.err.println("[GRID] Could not quit a prewarmed session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * SharedClient class - A session's handle on the shared client
+     * Sessions close their client on quit; the shared one must stay open for the others
+     */
+    private static class SharedClient implements HttpClient {
+        private final HttpClient shared;
+
+        SharedClient(HttpClient shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return shared.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return shared.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // Closed by RemoteGrid.shutdown()
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package framework.core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TextInput class - Input layer that page objects use to fill text fields
+ * Two modes:
+ *
+ * - KEYSTROKES: clear() and sendKeys() per field, like a user typing - two WebDriver
+ *   calls per field, and the browser fires every key event.
+ * - DIRECT: one script call sets all fields at once through the native value setter,
+ *   then fires input and change events, so Vue/React/Angular bindings see the new value.
+ *   No key events are fired.
+ *
+ * Pages opt into DIRECT with @BulkInput; everything else keeps typing.
+ */
+public final class TextInput {
+
+    /**
+     * Input modes
+     */
+    public enum Mode {
+        KEYSTROKES,
+        DIRECT
+    }
+
+    // Sets the value of each input/textarea in arguments[0] to the matching string in arguments[1]
+    // Uses the prototype's setter, because frameworks replace the instance's value property
+    // Returns the indexes of elements that are not text fields, so the caller can type into them
+    private static final String SET_VALUES_SCRIPT =
+            "var fields = arguments[0], values = arguments[1], skipped = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var field = fields[i], proto = null;"
+            + "  if (field instanceof HTMLInputElement) { proto = HTMLInputElement.prototype; }"
+            + "  else if (field instanceof HTMLTextAreaElement) { proto = HTMLTextAreaElement.prototype; }"
+            + "  if (proto === null || field.readOnly || field.disabled) { skipped.push(i); continue; }"
+            + "  field.focus();"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(field, values[i]);"
+            + "  field.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  field.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  field.blur();"
+            + "}"
+            + "return skipped;";
+
+    private final WebDriver driver;
+    private final Mode mode;
+
+    private TextInput(WebDriver driver, Mode mode) {
+        this.driver = driver;
+        this.mode = mode;
+    }
+
+    /**
+     * Returns the input layer for a page object
+     * DIRECT if the page class is annotated with @BulkInput, unless -Dinput.mode=keystrokes is set
+     *
+     * @param page - The page object, usually "this"
+     * @param driver - The page's WebDriver
+     * @return TextInput for the page
+     */
+    public static TextInput forPage(Object page, WebDriver driver) {
+        boolean forceKeystrokes = "keystrokes".equalsIgnoreCase(System.getProperty("input.mode"));
+        boolean bulk = page.getClass().isAnnotationPresent(BulkInput.class) && !forceKeystrokes;
+        return new TextInput(driver, bulk ? Mode.DIRECT : Mode.KEYSTROKES);
+    }
+
+    /**
+     * @return The mode this input layer uses
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Replaces the value of one field
+     *
+     * @param field - Text input or textarea
+     * @param value - The new value
+     * @return This TextInput for method chaining
+     */
+    public TextInput type(WebElement field, String value) {
+        return fill(Collections.singletonMap(field, value));
+    }
+
+    /**
+     * Replaces the values of several fields, in map order
+     * In DIRECT mode this is a single WebDriver call for the whole form
+     *
+     * @param values - Fields and their new values; use a LinkedHashMap to keep the order
+     * @return This TextInput for method chaining
+     */
+    public TextInput fill(Map<WebElement, String> values) {
+        if (mode == Mode.KEYSTROKES) {
+            for (Map.Entry<WebElement, String> entry : values.entrySet()) {
+                typeKeys(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+        List<WebElement> fields = new ArrayList<>(values.keySet());
+        List<String> strings = new ArrayList<>(values.values());
+        Object skipped = ((JavascriptExecutor) driver).executeScript(SET_VALUES_SCRIPT, fields, strings);
+        // Fields the script could not set (e.g. contenteditable) are typed into instead
+        if (skipped instanceof List) {
+            for (Object index : (List<?>) skipped) {
+                int i = ((Number) index).intValue();
+                typeKeys(fields.get(i), strings.get(i));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Starts a fluent multi-field fill, e.g.
+     * input.form().set(usernameInput, "Admin").set(passwordInput, "admin123").apply()
+     *
+     * @return Empty Form bound to this TextInput
+     */
+    public Form form() {
+        return new Form();
+    }
+
+    private static void typeKeys(WebElement field, String value) {
+        field.clear();
+        field.sendKeys(value);
+    }
+
+    /**
+     * Form class - Collects field values for one fill() call
+     */
+    public final class Form {
+        private final Map<WebElement, String> values = new LinkedHashMap<>();
+
+        private Form() {
+        }
+
+        /**
+         * @param field - Text input or textarea
+         * @param value - The new value
+         * @return This Form for method chaining
+         */
+        public Form set(WebElement field, String value) {
+            values.put(field, value);
+            return this;
+        }
+
+        /**
+         * Fills all collected fields
+         *
+         * @return The TextInput, for further input
+         */
+        public TextInput apply() {
+            return fill(values);
+        }
+    }
+}
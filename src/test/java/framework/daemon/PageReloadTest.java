@@ -0,0 +1,103 @@
+package framework.daemon;
+
+import framework.core.LazyElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the runner daemon's edit-run loop
+ * Edits a page object's @FindBy, recompiles it with SourceCompiler and reloads it in a fresh
+ * ReloadingClassLoader, the way RunnerDaemon does between runs, then checks the reloaded page
+ * looks its element up with the new locator. No browser is needed.
+ */
+public class PageReloadTest {
+
+    // A page object in a reloadable package, compiled into its own directories
+    private static final String PAGE = "framework.pages.ReloadCheckPage";
+
+    private Path workDir;
+    private Path sourceDir;
+    private Path classesDir;
+
+    @BeforeMethod(alwaysRun = true)
+    public void createDirectories() throws IOException {
+        workDir = Files.createTempDirectory("page-reload");
+        sourceDir = workDir.resolve("src");
+        Files.createDirectories(sourceDir.resolve("framework/pages"));
+        classesDir = Files.createDirectories(workDir.resolve("test-classes"));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectories() throws IOException {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Test that an edited @FindBy is used after the page is recompiled and reloaded
+     * Covers LocatorCache too: the daemon's JVM keeps its cache between runs
+     */
+    @Test(groups = {"daemon"})
+    public void testEditedFindByIsUsedAfterReload() throws Exception {
+        SourceCompiler compiler = new SourceCompiler(sourceDir, classesDir);
+
+        writePage("//input[@name='before']", FileTime.fromMillis(System.currentTimeMillis()));
+        Assert.assertEquals(compiler.compileChanged(), 1, "First run should compile the page");
+        Assert.assertTrue(locator().toString().contains("before"), "Page should use its declared locator");
+
+        // Newer than the class file, like an edit made between two daemon runs
+        writePage("//input[@name='after']", FileTime.fromMillis(System.currentTimeMillis() + 2_000));
+        Assert.assertEquals(compiler.compileChanged(), 1, "Edited page should be recompiled");
+        By reloaded = locator();
+        Assert.assertTrue(reloaded.toString().contains("after"),
+                "Reloaded page should use the edited locator, but used " + reloaded);
+    }
+
+    private void writePage(String xpath, FileTime modified) throws IOException {
+        String source = "package framework.pages;\n\n"
+                + "public class ReloadCheckPage {\n"
+                + "    @org.openqa.selenium.support.FindBy(xpath = \"" + xpath + "\")\n"
+                + "    org.openqa.selenium.WebElement field;\n\n"
+                + "    public ReloadCheckPage(org.openqa.selenium.WebDriver driver) {\n"
+                + "        ReloadCheckPage_Elements.bind(this, driver);\n"
+                + "    }\n\n"
+                + "    public org.openqa.selenium.WebElement field() {\n"
+                + "        return field;\n"
+                + "    }\n"
+                + "}\n";
+        Path file = sourceDir.resolve("framework/pages/ReloadCheckPage.java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+    }
+
+    // Loads the page in a fresh class loader, like a daemon run, and returns its field's locator
+    private By locator() throws Exception {
+        // Never called: LazyElement only searches when the element is used
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        try (URLClassLoader loader = new ReloadingClassLoader(classesDir.toUri().toURL(), getClass().getClassLoader())) {
+            Class<?> page = loader.loadClass(PAGE);
+            Object instance = page.getConstructor(WebDriver.class).newInstance(driver);
+            return ((LazyElement) page.getMethod("field").invoke(instance)).getBy();
+        }
+    }
+}
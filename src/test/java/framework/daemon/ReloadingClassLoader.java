@@ -0,0 +1,52 @@
+package framework.daemon;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * ReloadingClassLoader class - Loads test classes and page objects fresh for one daemon run
+ * Classes in the reloadable packages are loaded child-first from the test classes directory,
+ * so each run sees the latest compiled version. Everything else - the framework core,
+ * BaseTest, listeners, Selenium, TestNG - comes from the daemon's own class loader, so the
+ * warm JIT state and the DriverPool survive across runs.
+ */
+class ReloadingClassLoader extends URLClassLoader {
+
+    // Packages that are reloaded on every run
+    static final String[] RELOADABLE_PACKAGES = {"tests.", "framework.pages."};
+
+    ReloadingClassLoader(URL classesDir, ClassLoader parent) {
+        super(new URL[]{classesDir}, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!isReloadable(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                try {
+                    loaded = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    // Not in the classes directory - let the parent try
+                    loaded = super.loadClass(name, false);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+
+    static boolean isReloadable(String className) {
+        for (String prefix : RELOADABLE_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package framework.daemon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RunnerClient class - Thin command line client for RunnerDaemon
+ * Only needs its own class on the classpath, so it starts in a fraction of a second:
+ *
+ *   java -cp target/test-classes framework.daemon.RunnerClient run tests.OrangeHRMLoginTest
+ *   java -cp target/test-classes framework.daemon.RunnerClient stop
+ *
+ * Prints the run's output and exits with the run's TestNG status.
+ */
+public final class RunnerClient {
+
+    private RunnerClient() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: RunnerClient run <class,class...> [groups=a,b] [threads=n] | stop");
+            System.exit(2);
+        }
+        int port = Integer.getInteger("runner.port", RunnerDaemon.DEFAULT_PORT);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintStream out = new PrintStream(socket.getOutputStream(), true, "UTF-8");
+            out.println(String.join(" ", args));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(RunnerDaemon.EXIT_PREFIX)) {
+                    System.exit(Integer.parseInt(line.substring(RunnerDaemon.EXIT_PREFIX.length()).trim()));
+                }
+                System.out.println(line);
+            }
+            System.err.println("Daemon closed the connection before the run finished");
+            System.exit(1);
+        } catch (ConnectException e) {
+            System.err.println("No runner daemon on localhost:" + port + " - start framework.daemon.RunnerDaemon first");
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package framework.daemon;
+
+// Import the DriverFactory to install the session pool
+import framework.core.DriverFactory;
+import framework.core.DriverPool;
+// Import the testng.xml listeners that apply to a daemon run
+import framework.parallel.ResourceLockListener;
+import framework.report.StreamingReporter;
+import listeners.TestListener;
+// Import TestNG to run the requested classes
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RunnerDaemon class - Resident test runner for a fast local edit-run loop
+ * Keeps one JVM alive with warm classes, a resolved driver binary and a pool of live
+ * browser sessions, and runs test classes on request from RunnerClient. Before each run
+ * it recompiles changed test and page object sources and loads them in a fresh
+ * ReloadingClassLoader, so edits show up without a restart (PageReloadTest checks this for an
+ * edited @FindBy locator).
+ *
+ * Start it once with the test classpath:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/classes:target/test-classes:$(cat target/cp.txt) framework.daemon.RunnerDaemon
+ *
+ * Then run tests through it:
+ *   java -cp target/test-classes framework.daemon.RunnerClient run tests.OrangeHRMLoginTest groups=smoke
+ *
+ * Protocol: the client sends one line, "run <class,class...> [groups=a,b] [threads=n]" or "stop".
+ * The daemon streams the run's console output back and ends with "EXIT <status>".
+ * Options: -Drunner.port (default 4545), -Drunner.pool idle sessions per browser (default 4).
+ *
+ * Each run registers TestListener, ResourceLockListener and StreamingReporter like testng.xml.
+ * ImpactSelector and SuiteScheduler are left out: the request already names the classes to
+ * run, and a daemon run is a single <test> block with no other blocks to share workers with.
+ * Only the test and page packages are reloaded; after editing BaseTest, listeners or other
+ * framework classes, restart the daemon (the run is refused until then).
+ */
+public final class RunnerDaemon {
+
+    // Last line of every response, followed by the TestNG exit status
+    static final String EXIT_PREFIX = "EXIT ";
+
+    // Default port, shared with RunnerClient
+    static final int DEFAULT_PORT = 4545;
+
+    private final Path classesDir = Paths.get("target/test-classes");
+    private final SourceCompiler compiler = new SourceCompiler(Paths.get("src/test/java"), classesDir);
+    private final DriverPool pool = new DriverPool(Integer.getInteger("runner.pool", 4));
+
+    private RunnerDaemon() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        new RunnerDaemon().serve(Integer.getInteger("runner.port", DEFAULT_PORT));
+    }
+
+    /**
+     * Accepts requests one at a time until a "stop" request arrives
+     */
+    private void serve(int port) throws IOException {
+        DriverFactory.usePool(pool);
+        try (ServerSocket server = new ServerSocket(port, 10, InetAddress.getLoopbackAddress())) {
+            System.out.println("[DAEMON] Listening on localhost:" + server.getLocalPort());
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    String request = in.readLine();
+                    if (request == null) {
+                        continue;
+                    }
+                    PrintStream client = new PrintStream(socket.getOutputStream(), true, "UTF-8");
+                    if (request.trim().equals("stop")) {
+                        client.println(EXIT_PREFIX + 0);
+                        break;
+                    }
+                    client.println(EXIT_PREFIX + handle(request, client));
+                } catch (IOException e) {
+                    System.err.println("[DAEMON] Request failed: " + e.getMessage());
+                }
+            }
+        } finally {
+            DriverFactory.usePool(null);
+            pool.close();
+            System.out.println("[DAEMON] Stopped");
+        }
+    }
+
+    /**
+     * Runs one request with the console redirected to the client
+     *
+     * @return TestNG exit status, or 1 if the request could not be run
+     */
+    private int handle(String request, PrintStream client) {
+        PrintStream console = System.out;
+        PrintStream consoleErr = System.err;
+        // Everything the run prints goes to the daemon console and to the client
+        PrintStream tee = new PrintStream(new TeeOutputStream(console, client), true);
+        System.setOut(tee);
+        System.setErr(tee);
+        try {
+            long start = System.nanoTime();
+            Request parsed = Request.parse(request);
+            int compiled = compiler.compileChanged();
+            if (compiled > 0) {
+                System.out.println("[DAEMON] Recompiled " + compiled + " test and page source files");
+            }
+            int status = run(parsed);
+            System.out.printf("[DAEMON] Run finished in %.2fs, %d idle sessions pooled%n",
+                    (System.nanoTime() - start) / 1_000_000_000.0, pool.idleCount());
+            return status;
+        } catch (Exception e) {
+            System.out.println("[DAEMON] " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            return 1;
+        } finally {
+            System.setOut(console);
+            System.setErr(consoleErr);
+        }
+    }
+
+    private int run(Request request) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (ReloadingClassLoader loader = new ReloadingClassLoader(classesDir.toUri().toURL(),
+                RunnerDaemon.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            List<Class<?>> classes = new ArrayList<>();
+            for (String className : request.classes) {
+                classes.add(loader.loadClass(className));
+            }
+
+            TestNG testng = new TestNG();
+            testng.setUseDefaultListeners(false);
+            testng.setTestClasses(classes.toArray(new Class<?>[0]));
+            if (!request.groups.isEmpty()) {
+                testng.setGroups(request.groups);
+            }
+            if (request.threads > 1) {
+                testng.setParallel(XmlSuite.ParallelMode.METHODS);
+                testng.setThreadCount(request.threads);
+            }
+            testng.addListener(new TestListener());
+            testng.addListener(new ResourceLockListener());
+            testng.addListener(new StreamingReporter());
+            testng.run();
+            return testng.getStatus();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * Request class - A parsed "run" line
+     */
+    private static class Request {
+        private final List<String> classes = new ArrayList<>();
+        private String groups = "";
+        private int threads = 1;
+
+        static Request parse(String line) {
+            String[] words = line.trim().split("\\s+");
+            if (words.length < 2 || !words[0].equals("run")) {
+                throw new IllegalArgumentException("Expected \"run <class,class...> [groups=a,b] [threads=n]\", got: " + line);
+            }
+            Request request = new Request();
+            for (String className : words[1].split(",")) {
+                request.classes.add(className);
+            }
+            for (int i = 2; i < words.length; i++) {
+                if (words[i].startsWith("groups=")) {
+                    request.groups = words[i].substring("groups=".length());
+                } else if (words[i].startsWith("threads=")) {
+                    request.threads = Integer.parseInt(words[i].substring("threads=".length()));
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + words[i]);
+                }
+            }
+            return request;
+        }
+    }
+
+    /**
+     * TeeOutputStream class - Writes everything to two streams
+     * The client side is a PrintStream, which swallows errors, so a client that
+     * disconnects mid-run does not break the run
+     */
+    private static class TeeOutputStream extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package framework.daemon;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SourceCompiler class - Recompiles changed test and page object sources inside the daemon
+ * Uses the JDK's in-process compiler, which stays warm between runs, so recompiling the
+ * test and page classes takes a fraction of a second instead of a full "mvn test-compile".
+ * The @FindBy binder processor is named explicitly, so page binders are regenerated too.
+ *
+ * When any reloadable source changed, all of them are recompiled, so callers of a changed
+ * page object are checked against its new signatures. Sources outside the reloadable
+ * packages are loaded once by the daemon; a change to one of them refuses the run.
+ */
+class SourceCompiler {
+
+    private final Path sourceDir;
+    private final Path classesDir;
+
+    // When the daemon started - non-reloadable sources edited after this are stale in the JVM
+    private final FileTime started = FileTime.fromMillis(System.currentTimeMillis());
+
+    SourceCompiler(Path sourceDir, Path classesDir) {
+        this.sourceDir = sourceDir;
+        this.classesDir = classesDir;
+    }
+
+    /**
+     * Compiles every reloadable source file if any of them is newer than its class file
+     *
+     * @return Number of files compiled, 0 if nothing changed
+     * @throws IllegalStateException with the compiler output if compilation fails, or
+     *         if a source the daemon can't reload changed since it started
+     */
+    int compileChanged() throws IOException {
+        List<File> reloadable = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        boolean changed = false;
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            for (Path source : files.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                String relative = sourceDir.relativize(source).toString().replace(File.separatorChar, '/');
+                String className = relative.substring(0, relative.length() - ".java".length()).replace('/', '.');
+                Path classFile = classesDir.resolve(relative.substring(0, relative.length() - ".java".length()) + ".class");
+                FileTime modified = Files.getLastModifiedTime(source);
+                boolean newer = !Files.exists(classFile) || modified.compareTo(Files.getLastModifiedTime(classFile)) > 0;
+                if (ReloadingClassLoader.isReloadable(className)) {
+                    reloadable.add(source.toFile());
+                    changed |= newer;
+                } else if (newer || modified.compareTo(started) > 0) {
+                    stale.add(className);
+                }
+            }
+        }
+        if (!stale.isEmpty()) {
+            throw new IllegalStateException("Changed since the daemon started, but not reloadable: " + stale
+                    + " - restart the daemon to pick them up");
+        }
+        if (!changed) {
+            return 0;
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available - run the daemon on a JDK, not a JRE");
+        }
+        StringWriter output = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            // Same language level as the Maven build, so both produce interchangeable class files
+            Path generatedDir = classesDir.resolveSibling("generated-test-sources").resolve("test-annotations");
+            Files.createDirectories(generatedDir);
+            List<String> options = Arrays.asList("-d", classesDir.toString(), "-s", generatedDir.toString(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-sourcepath", sourceDir.toString(),
+                    // JDK 23+ no longer runs processors found on the classpath
+                    "-processor", "framework.binding.FindByProcessor",
+                    "-source", "8", "-target", "8", "-Xlint:-options", "-encoding", "UTF-8");
+            boolean ok = compiler.getTask(output, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(reloadable)).call();
+            if (!ok) {
+                throw new IllegalStateException("Compilation failed:\n" + output);
+            }
+        }
+        return reloadable.size();
+    }
+}
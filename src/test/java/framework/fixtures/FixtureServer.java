@@ -0,0 +1,376 @@
+package framework.fixtures;
+
+// Import the JDK's built-in HTTP server - no extra dependency needed
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * FixtureServer class - Embedded local HTTP server that records and replays web pages
+ * Makes page tests hermetic: in replay mode no request leaves the machine.
+ *
+ * Modes (system property fixtures.mode):
+ *   off    - default, url() returns the live URL unchanged
+ *   record - the server proxies every request to the live site and saves the response
+ *   replay - the server answers only from saved fixtures, missing ones return 404
+ *
+ * Live URLs are mapped to "<host>.localhost:<port>", e.g.
+ *   https://opensource-demo.orangehrmlive.com/web/index.php/auth/login
+ *   http://opensource-demo.orangehrmlive.com.localhost:51234/web/index.php/auth/login
+ * Browsers resolve *.localhost to the loopback address, so root-relative links keep working
+ * and assertions on the host name (e.g. "orangehrmlive.com") still pass. Links in recorded
+ * text bodies are mapped the same way, whether written https://host, //host or JSON-escaped.
+ *
+ * Other system properties:
+ *   fixtures.dir  - fixture store directory (default src/test/resources/fixtures)
+ *   fixtures.port - port to listen on (default 0, any free port)
+ */
+public class FixtureServer {
+
+    // Suffix appended to every upstream host name
+    private static final String LOCAL_SUFFIX = ".localhost";
+
+    // Live URLs inside recorded text bodies - rewritten to point at the server. Matches https://host,
+    // protocol-relative //host and the JSON-escaped forms https:\/\/host and \/\/host; group 1 is
+    // the scheme, group 2 the slashes as written, group 3 the host. The lookbehind leaves the
+    // slashes of other schemes (http://, ftp://) alone
+    private static final Pattern ABSOLUTE_URL = Pattern.compile(
+            "(https:|(?<![A-Za-z0-9+.?-]:))(//|\\\\/\\\\/)([A-Za-z0-9-]+(?:\\.[A-Za-z0-9-]+)+)(?::\\d+)?");
+
+    // Request headers that must not be forwarded to the live site
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = new HashSet<>(Arrays.asList(
+            "host", "connection", "content-length", "accept-encoding", "transfer-encoding", "upgrade"));
+
+    // Response headers that must not be recorded
+    // CSP and HSTS would block or upgrade the rewritten localhost origins
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = new HashSet<>(Arrays.asList(
+            "content-length", "content-encoding", "transfer-encoding", "connection", "keep-alive",
+            "strict-transport-security", "content-security-policy", "alt-svc"));
+
+    // The single server instance for the suite, null when fixtures are off
+    private static volatile FixtureServer instance;
+
+    // Upstream hosts that were registered with a plain http:// URL
+    private final Set<String> httpHosts = ConcurrentHashMap.newKeySet();
+
+    private final Mode mode;
+    private final FixtureStore store;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Mode enum - How the fixture server answers requests
+     */
+    public enum Mode {
+        OFF, RECORD, REPLAY;
+
+        // Reads the mode from the fixtures.mode system property
+        static Mode fromSystemProperty() {
+            return Mode.valueOf(System.getProperty("fixtures.mode", "off").trim().toUpperCase());
+        }
+    }
+
+    private FixtureServer(Mode mode, FixtureStore store, int port) throws IOException {
+        this.mode = mode;
+        this.store = store;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // Browsers open several connections per page, and tests run in parallel
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the suite-wide server if fixtures.mode is record or replay
+     * Called once from BaseTest @BeforeSuite; does nothing when fixtures are off
+     */
+    public static synchronized void startIfEnabled() throws IOException {
+        Mode mode = Mode.fromSystemProperty();
+        if (mode == Mode.OFF || instance != null) {
+            return;
+        }
+        FixtureStore store = new FixtureStore(Paths.get(System.getProperty("fixtures.dir", "src/test/resources/fixtures")));
+        FixtureServer fixtureServer = new FixtureServer(mode, store, Integer.getInteger("fixtures.port", 0));
+        fixtureServer.server.start();
+        instance = fixtureServer;
+        System.out.println("[FIXTURE] Server started in " + mode + " mode on port " + fixtureServer.getPort());
+    }
+
+    /**
+     * Stops the suite-wide server if it is running
+     * Called once from BaseTest @AfterSuite
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.server.stop(0);
+            instance.executor.shutdownNow();
+            instance = null;
+            System.out.println("[FIXTURE] Server stopped");
+        }
+    }
+
+    /**
+     * Returns the mode of the running server
+     * Lets callers keep results of fixture runs apart from live ones, e.g. performance history
+     *
+     * @return RECORD or REPLAY while the server runs, otherwise OFF
+     */
+    public static Mode activeMode() {
+        FixtureServer fixtureServer = instance;
+        return fixtureServer == null ? Mode.OFF : fixtureServer.mode;
+    }
+
+    /**
+     * Maps a live URL to the fixture server
+     * Page objects and tests call this before every driver.get()
+     *
+     * @param liveUrl - The real URL, e.g. https://www.google.com
+     * @return The local URL when fixtures are on, otherwise liveUrl unchanged
+     */
+    public static String url(String liveUrl) {
+        FixtureServer fixtureServer = instance;
+        if (fixtureServer == null) {
+            return liveUrl;
+        }
+        URI uri = URI.create(liveUrl);
+        if ("http".equalsIgnoreCase(uri.getScheme())) {
+            fixtureServer.httpHosts.add(uri.getHost());
+        }
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return fixtureServer.localOrigin(uri.getHost()) + path + query;
+    }
+
+    /**
+     * Returns the port the server listens on
+     *
+     * @return Local port number
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ========== REQUEST HANDLING ==========
+
+    /**
+     * Handles one browser request - proxies and records it, or replays it from the store
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String host = upstreamHost(exchange.getRequestHeaders().getFirst("Host"));
+            String method = exchange.getRequestMethod();
+            String pathAndQuery = exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery());
+            byte[] requestBody = readAll(exchange.getRequestBody());
+            String key = FixtureStore.key(method, pathAndQuery, requestBody);
+
+            FixtureStore.Fixture fixture;
+            if (mode == Mode.RECORD) {
+                fixture = fetch(host, method, pathAndQuery, exchange.getRequestHeaders(), requestBody);
+                store.save(host, key, method + " " + pathAndQuery, fixture);
+            } else {
+                fixture = store.load(host, key);
+                if (fixture == null) {
+                    System.out.println("[FIXTURE] Missing fixture: " + method + " " + host + pathAndQuery);
+                    send(exchange, 404, new ArrayList<>(), ("No fixture recorded for " + method + " " + host + pathAndQuery)
+                            .getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            }
+            serve(exchange, fixture);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[FIXTURE] Request failed: " + exchange.getRequestURI() + " - " + e.getMessage());
+            // getResponseCode() is -1 until headers are sent; after that a 502 can't replace the
+            // response, e.g. when the browser hung up mid-body - closing the exchange is all that's left
+            if (exchange.getResponseCode() == -1) {
+                send(exchange, 502, new ArrayList<>(), String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Fetches a response from the live site (record mode only)
+     */
+    private FixtureStore.Fixture fetch(String host, String method, String pathAndQuery,
+                                       Headers requestHeaders, byte[] requestBody) throws IOException {
+        String scheme = httpHosts.contains(host) ? "http" : "https";
+        HttpURLConnection connection = (HttpURLConnection) new URL(scheme + "://" + host + pathAndQuery).openConnection();
+        connection.setRequestMethod(method);
+        // Redirects are recorded as-is so the browser follows them through the server
+        connection.setInstanceFollowRedirects(false);
+        // Ask for an uncompressed body so text can be rewritten when it is served
+        connection.setRequestProperty("Accept-Encoding", "identity");
+        for (Map.Entry<String, List<String>> header : requestHeaders.entrySet()) {
+            if (SKIPPED_REQUEST_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                connection.addRequestProperty(header.getKey(), toLive(value));
+            }
+        }
+        if (requestBody.length > 0) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(requestBody);
+            }
+        }
+
+        int status = connection.getResponseCode();
+        List<String[]> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+            // The status line is reported with a null header name
+            if (header.getKey() == null || SKIPPED_RESPONSE_HEADERS.contains(header.getKey().toLowerCase())) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                headers.add(new String[]{header.getKey(), value});
+            }
+        }
+        InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        byte[] bytes = body == null ? new byte[0] : readAll(body);
+        connection.disconnect();
+        return new FixtureStore.Fixture(status, headers, bytes);
+    }
+
+    /**
+     * Sends a fixture to the browser, rewriting live URLs to local ones
+     * Rewriting happens at serve time so fixtures stay valid when the port changes
+     */
+    private void serve(HttpExchange exchange, FixtureStore.Fixture fixture) throws IOException {
+        List<String[]> headers = new ArrayList<>();
+        String contentType = "";
+        for (String[] header : fixture.getHeaders()) {
+            String name = header[0];
+            String value = header[1];
+            if (name.equalsIgnoreCase("Content-Type")) {
+                contentType = value.toLowerCase();
+            } else if (name.equalsIgnoreCase("Location")) {
+                value = toLocal(value);
+            } else if (name.equalsIgnoreCase("Set-Cookie")) {
+                // Cookies must be accepted for the plain-http *.localhost origin
+                value = value.replaceAll("(?i);\\s*(Domain=[^;]*|Secure|SameSite=None)", "");
+            }
+            headers.add(new String[]{name, value});
+        }
+        byte[] body = fixture.getBody();
+        if (isText(contentType)) {
+            body = toLocal(new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        }
+        send(exchange, fixture.getStatus(), headers, body);
+    }
+
+    private void send(HttpExchange exchange, int status, List<String[]> headers, byte[] body) throws IOException {
+        for (String[] header : headers) {
+            exchange.getResponseHeaders().add(header[0], header[1]);
+        }
+        // HEAD, 204 and 304 responses must not carry a body
+        boolean noBody = body.length == 0 || status == 204 || status == 304
+                || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    // ========== URL MAPPING ==========
+
+    private String localOrigin(String host) {
+        return "http://" + host + LOCAL_SUFFIX + ":" + getPort();
+    }
+
+    // Turns "www.google.com.localhost:51234" back into "www.google.com"
+    private static String upstreamHost(String hostHeader) {
+        String host = hostHeader == null ? "" : hostHeader;
+        int colon = host.lastIndexOf(':');
+        if (colon >= 0) {
+            host = host.substring(0, colon);
+        }
+        if (!host.endsWith(LOCAL_SUFFIX)) {
+            throw new IllegalArgumentException("Request is not for a fixture host: " + hostHeader);
+        }
+        return host.substring(0, host.length() - LOCAL_SUFFIX.length());
+    }
+
+    // Rewrites live URLs inside a text body or header to their local form
+    private String toLocal(String text) {
+        Matcher matcher = ABSOLUTE_URL.matcher(text);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String origin = localOrigin(matcher.group(3));
+            if (matcher.group(1).isEmpty()) {
+                // Protocol-relative - the page is served over http, so only the host needs to change
+                origin = origin.substring("http:".length());
+            }
+            if (!matcher.group(2).equals("//")) {
+                // Keep JSON escaping, so the rewritten URL still parses in the same string
+                origin = origin.replace("/", "\\/");
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(origin));
+        }
+        matcher.appendTail(result);
+        String local = result.toString();
+        for (String host : httpHosts) {
+            local = local.replace("http://" + host + "/", localOrigin(host) + "/");
+        }
+        return local;
+    }
+
+    // Rewrites local URLs in request headers (Referer, Origin) back to their live form
+    private String toLive(String value) {
+        Matcher matcher = Pattern.compile("http://([A-Za-z0-9.-]+)" + Pattern.quote(LOCAL_SUFFIX) + ":" + getPort()).matcher(value);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String host = matcher.group(1);
+            String scheme = httpHosts.contains(host) ? "http" : "https";
+            matcher.appendReplacement(result, Matcher.quoteReplacement(scheme + "://" + host));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static boolean isText(String contentType) {
+        return contentType.startsWith("text/") || contentType.contains("javascript")
+                || contentType.contains("json") || contentType.contains("xml");
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
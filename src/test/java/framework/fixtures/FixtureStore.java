@@ -0,0 +1,164 @@
+package framework.fixtures;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FixtureStore class - Saves and loads recorded HTTP responses on disk
+ * Each response is stored as two files under <root>/<host>/:
+ *   <key>.properties - request line, status code and response headers
+ *   <key>.body       - raw response body
+ * The key is a SHA-1 of the request method, path, query and (for POST) the request body,
+ * so the same request always maps to the same fixture.
+ * Loaded fixtures are cached in memory so replayed navigations never touch the disk twice.
+ */
+public class FixtureStore {
+
+    // Root directory of the fixture store
+    private final Path root;
+
+    // In-memory cache of fixtures already loaded from disk, keyed by host + key
+    private final Map<String, Fixture> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store rooted at the given directory
+     *
+     * @param root - Directory that holds one sub-directory per recorded host
+     */
+    public FixtureStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Computes the fixture key for a request
+     *
+     * @param method - HTTP method (GET, POST, ...)
+     * @param pathAndQuery - Request path including the query string
+     * @param body - Request body, may be empty
+     * @return Hex encoded SHA-1 key
+     */
+    public static String key(String method, String pathAndQuery, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(method.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(pathAndQuery.getBytes(StandardCharsets.UTF_8));
+            if (body != null && body.length > 0) {
+                digest.update((byte) '\n');
+                digest.update(body);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1 is required to be present on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads a recorded fixture
+     *
+     * @param host - Upstream host the fixture was recorded from
+     * @param key - Fixture key from key()
+     * @return Fixture, or null if nothing was recorded for this request
+     */
+    public Fixture load(String host, String key) throws IOException {
+        Fixture cached = cache.get(host + "/" + key);
+        if (cached != null) {
+            return cached;
+        }
+        Path meta = root.resolve(host).resolve(key + ".properties");
+        if (!Files.exists(meta)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+        }
+        List<String[]> headers = new ArrayList<>();
+        for (int i = 0; properties.containsKey("header." + i); i++) {
+            String line = properties.getProperty("header." + i);
+            int colon = line.indexOf(':');
+            headers.add(new String[]{line.substring(0, colon), line.substring(colon + 1).trim()});
+        }
+        byte[] body = Files.readAllBytes(root.resolve(host).resolve(key + ".body"));
+        Fixture fixture = new Fixture(Integer.parseInt(properties.getProperty("status")), headers, body);
+        cache.put(host + "/" + key, fixture);
+        return fixture;
+    }
+
+    /**
+     * Saves a fixture, replacing any earlier recording of the same request
+     *
+     * @param host - Upstream host the response came from
+     * @param key - Fixture key from key()
+     * @param requestLine - Human readable request line, stored for reference only
+     * @param fixture - The recorded response
+     */
+    public void save(String host, String key, String requestLine, Fixture fixture) throws IOException {
+        Path dir = root.resolve(host);
+        Files.createDirectories(dir);
+
+        Properties properties = new Properties();
+        properties.setProperty("request", requestLine);
+        properties.setProperty("status", String.valueOf(fixture.getStatus()));
+        List<String[]> headers = fixture.getHeaders();
+        for (int i = 0; i < headers.size(); i++) {
+            properties.setProperty("header." + i, headers.get(i)[0] + ": " + headers.get(i)[1]);
+        }
+
+        // Write to temp files first so parallel tests never see a half-written fixture
+        Path body = Files.createTempFile(dir, key, ".tmp");
+        Files.write(body, fixture.getBody());
+        Files.move(body, dir.resolve(key + ".body"), StandardCopyOption.REPLACE_EXISTING);
+        Path meta = Files.createTempFile(dir, key, ".tmp");
+        try (OutputStream out = Files.newOutputStream(meta)) {
+            properties.store(out, null);
+        }
+        Files.move(meta, dir.resolve(key + ".properties"), StandardCopyOption.REPLACE_EXISTING);
+        cache.put(host + "/" + key, fixture);
+    }
+
+    /**
+     * Fixture class - One recorded HTTP response
+     */
+    public static class Fixture {
+        private final int status;
+        private final List<String[]> headers;
+        private final byte[] body;
+
+        public Fixture(int status, List<String[]> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        // Each header is a {name, value} pair, in the order the upstream sent them
+        public List<String[]> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
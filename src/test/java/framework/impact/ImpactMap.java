@@ -0,0 +1,87 @@
+package framework.impact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * ImpactMap class - Which page objects and URLs each test used in its last recorded run
+ * Stored in -Dimpact.file (default impact-map.txt) as sorted "test<TAB>usage" lines, e.g.
+ *
+ *   tests.OrangeHRMLoginTest#testSuccessfulLogin	framework.pages.OrangeHRMLoginPage#login
+ *   tests.OrangeHRMLoginTest#testSuccessfulLogin	url:opensource-demo.orangehrmlive.com/web/index.php/auth/login
+ *
+ * Keep the file between CI runs (e.g. as a cache) - ImpactRecorder updates it and
+ * ImpactSelector reads it.
+ */
+public final class ImpactMap {
+
+    // Prefix of URL usages; page object usages are "<class>#<method>"
+    public static final String URL_PREFIX = "url:";
+
+    // Utility class - no instances
+    private ImpactMap() {
+    }
+
+    /**
+     * @return The impact map file from -Dimpact.file
+     */
+    public static Path file() {
+        return Paths.get(System.getProperty("impact.file", "impact-map.txt"));
+    }
+
+    /**
+     * Reads the impact map
+     *
+     * @param file - The impact map file
+     * @return Usages per test ("<class>#<method>"), empty if the file does not exist
+     */
+    public static Map<String, Set<String>> read(Path file) {
+        Map<String, Set<String>> usages = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return usages;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    usages.computeIfAbsent(line.substring(0, tab), test -> new TreeSet<>()).add(line.substring(tab + 1));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read impact map " + file, e);
+        }
+        return usages;
+    }
+
+    /**
+     * Writes the impact map, sorted so that it diffs cleanly
+     *
+     * @param file - The impact map file
+     * @param usages - Usages per test
+     */
+    public static void write(Path file, Map<String, Set<String>> usages) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Set<String>> entry : new TreeMap<>(usages).entrySet()) {
+                    for (String usage : new TreeSet<>(entry.getValue())) {
+                        out.write(entry.getKey() + "\t" + usage + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write impact map " + file, e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package framework.impact;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ImpactRecorder class - Records which page object methods and URLs each test uses
+ * Enabled with -Dimpact.record=true; BaseTest then registers it with DriverFactory.
+ *
+ * On every WebDriver call it walks the stack and notes each framework.pages method on it,
+ * so a call made from OrangeHRMLoginPage.login() is charged to that page method. Every page
+ * load notes the URL. Calls made from configuration methods (@BeforeMethod, @BeforeClass...)
+ * are charged to every test method of their class.
+ *
+ * write() merges this run's usages into the impact map file. Only a test whose invocations
+ * all passed replaces its previous entries - a failed or skipped test may have stopped before
+ * reaching pages it normally uses, so its new usages are added to the old ones. Tests that
+ * did not run keep their previous entries.
+ */
+public class ImpactRecorder implements WebDriverListener {
+
+    // true when -Dimpact.record=true is set
+    private static final boolean ENABLED = Boolean.getBoolean("impact.record");
+
+    // Package whose classes count as page objects
+    private static final String PAGES_PACKAGE = "framework.pages.";
+
+    // Usages recorded in this run, keyed by "<test class>#<test method>"
+    private static final Map<String, Set<String>> USAGES = new ConcurrentHashMap<>();
+
+    // Whether all invocations of a test passed in this run, keyed like USAGES
+    private static final Map<String, Boolean> PASSED = new ConcurrentHashMap<>();
+
+    /**
+     * @return true if -Dimpact.record=true is set
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        List<Set<String>> usages = currentUsages();
+        if (usages == null) {
+            return;
+        }
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(PAGES_PACKAGE)) {
+                // Lambdas and inner classes count towards their page class
+                int nested = className.indexOf('$');
+                String usage = (nested < 0 ? className : className.substring(0, nested)) + "#" + frame.getMethodName();
+                usages.forEach(test -> test.add(usage));
+            }
+        }
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        recordUrl(url);
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        recordUrl(url);
+    }
+
+    /**
+     * Forgets the usages of previous runs, so write() doesn't merge them in again
+     * Called from BaseTest @BeforeSuite
+     */
+    public static void reset() {
+        USAGES.clear();
+        PASSED.clear();
+    }
+
+    /**
+     * Notes whether a test invocation passed, which decides if its usages replace the old ones
+     * Called from BaseTest @AfterMethod
+     *
+     * @param result - The result of the test method that just ran
+     */
+    public static void testFinished(ITestResult result) {
+        if (!ENABLED) {
+            return;
+        }
+        PASSED.merge(ImpactSelector.testKey(result.getMethod().getRealClass().getName(),
+                result.getMethod().getMethodName()), result.getStatus() == ITestResult.SUCCESS, Boolean::logicalAnd);
+    }
+
+    /**
+     * Merges this run's usages into the impact map file
+     * Called once from BaseTest @AfterSuite
+     */
+    public static void write() {
+        if (!ENABLED || USAGES.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> map = ImpactMap.read(ImpactMap.file());
+        merge(map, USAGES, PASSED);
+        ImpactMap.write(ImpactMap.file(), map);
+        System.out.println("[IMPACT] Recorded usages of " + USAGES.size() + " tests in " + ImpactMap.file().toAbsolutePath());
+    }
+
+    /**
+     * Merges a run's usages into the impact map
+     * A test replaces its entry only if all of its invocations passed; otherwise its new
+     * usages are added to the recorded ones, so it is never deselected for pages it didn't reach
+     *
+     * @param map - The impact map read from the file, updated in place
+     * @param usages - Usages recorded in the run, per test
+     * @param passed - Whether all invocations of a test passed, per test
+     */
+    static void merge(Map<String, Set<String>> map, Map<String, Set<String>> usages, Map<String, Boolean> passed) {
+        for (Map.Entry<String, Set<String>> entry : usages.entrySet()) {
+            if (Boolean.TRUE.equals(passed.get(entry.getKey()))) {
+                map.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+            } else {
+                map.computeIfAbsent(entry.getKey(), test -> new TreeSet<>()).addAll(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Normalizes a URL to "url:<host><path>"
+     * Local fixture URLs (http://<host>.localhost:<port>/...) are recorded as the live host,
+     * and a bare origin (https://host) gets the path "/", like the browser requests it
+     *
+     * @param url - The URL that was loaded
+     * @return The usage string
+     */
+    public static String urlUsage(String url) {
+        URI uri = URI.create(url);
+        String host = uri.getHost() == null ? "" : uri.getHost();
+        if (host.endsWith(".localhost")) {
+            host = host.substring(0, host.length() - ".localhost".length());
+        }
+        String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+        return ImpactMap.URL_PREFIX + host + path;
+    }
+
+    private static void recordUrl(String url) {
+        List<Set<String>> usages = currentUsages();
+        if (usages != null && url != null) {
+            try {
+                String usage = urlUsage(url);
+                usages.forEach(test -> test.add(usage));
+            } catch (IllegalArgumentException e) {
+                // Not a URI (e.g. data: with spaces) - nothing useful to record
+            }
+        }
+    }
+
+    // Usage sets to charge calls on this thread to: the running test method, or every test method
+    // of the class for a configuration method; null outside of TestNG methods
+    private static List<Set<String>> currentUsages() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return null;
+        }
+        if (result.getMethod().isTest()) {
+            return Collections.singletonList(usagesOf(result.getMethod()));
+        }
+        List<Set<String>> usages = new ArrayList<>();
+        for (ITestNGMethod method : result.getMethod().getTestClass().getTestMethods()) {
+            usages.add(usagesOf(method));
+        }
+        return usages;
+    }
+
+    private static Set<String> usagesOf(ITestNGMethod method) {
+        return USAGES.computeIfAbsent(ImpactSelector.testKey(method.getRealClass().getName(), method.getMethodName()),
+                test -> ConcurrentHashMap.newKeySet());
+    }
+}
@@ -0,0 +1,198 @@
+package framework.impact;
+
+import framework.metrics.SuiteMetrics;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * ImpactSelector class - Runs only the tests affected by a change
+ * Registered in testng.xml. Does nothing unless -Dimpact.changed lists the changed files,
+ * comma-separated or as @file with one path per line:
+ *
+ *   git diff --name-only origin/main > changed.txt
+ *   mvn test -Dimpact.changed=@changed.txt
+ *
+ * A test is selected when:
+ * - its own test class changed
+ * - it used a changed page object class (or a changed "Class#method", if listed that way)
+ * - it loaded a URL on a host whose recorded fixtures changed
+ * - it is not in the impact map yet (new tests always run)
+ * - it is in one of the safety groups from -Dimpact.always (default "smoke")
+ *
+ * Any other changed source file (DriverFactory, BaseTest, listeners, pom.xml, testng.xml...)
+ * can affect every test, so it selects the whole suite. Files outside src/ and the build
+ * files (docs, README) select nothing.
+ */
+public class ImpactSelector implements IMethodInterceptor {
+
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String MAIN_SOURCES = "src/main/java/";
+    private static final String FIXTURES = "src/test/resources/fixtures/";
+    private static final String PAGES_PACKAGE = "framework.pages.";
+    private static final String TESTS_PACKAGE = "tests.";
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String changedProperty = System.getProperty("impact.changed");
+        if (changedProperty == null) {
+            return methods;
+        }
+        // TestListener counted the block's methods as queued before this filter ran
+        return select(methods, context.getName(), changedFiles(changedProperty),
+                Arrays.asList(System.getProperty("impact.always", "smoke").split(",")), ImpactMap.file(),
+                SuiteMetrics::testsDeselected);
+    }
+
+    /**
+     * Selects the tests affected by the changed files
+     *
+     * @param methods - Methods of the <test> block
+     * @param blockName - Name of the <test> block, for the log
+     * @param changed - Changed files (or "Class#method" entries), with forward slashes
+     * @param safetyGroups - Groups that always run
+     * @param mapFile - The impact map file
+     * @param deselected - Receives the number of invocations that will not run
+     * @return The selected methods
+     */
+    static List<IMethodInstance> select(List<IMethodInstance> methods, String blockName, List<String> changed,
+                                        List<String> safetyGroups, Path mapFile, IntConsumer deselected) {
+        Map<String, Set<String>> impactMap = ImpactMap.read(mapFile);
+
+        // Collect what the changed files touch; a change nothing is known about selects everything
+        List<String> changedTestClasses = new ArrayList<>();
+        List<String> changedUsages = new ArrayList<>();
+        List<String> changedHosts = new ArrayList<>();
+        for (String file : changed) {
+            if (file.contains("#")) {
+                // "framework.pages.LoginPage#login" - a single changed page method
+                changedUsages.add(file);
+            } else if (file.startsWith(FIXTURES)) {
+                String rest = file.substring(FIXTURES.length());
+                changedHosts.add(rest.contains("/") ? rest.substring(0, rest.indexOf('/')) : rest);
+            } else if (file.startsWith(TEST_SOURCES) && file.endsWith(".java")) {
+                String className = className(file.substring(TEST_SOURCES.length()));
+                if (className.startsWith(TESTS_PACKAGE)) {
+                    changedTestClasses.add(className);
+                } else if (className.startsWith(PAGES_PACKAGE)) {
+                    changedUsages.add(className + "#");
+                } else {
+                    return all(methods, blockName, file);
+                }
+            } else if (file.startsWith("src/") || file.equals("pom.xml") || file.endsWith("testng.xml")) {
+                return all(methods, blockName, file);
+            }
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        int dropped = 0;
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String key = testKey(method.getRealClass().getName(), method.getMethodName());
+            String reason = reason(method, key, impactMap.get(key), safetyGroups,
+                    changedTestClasses, changedUsages, changedHosts);
+            if (reason != null) {
+                System.out.println("[IMPACT] Selected " + key + " - " + reason);
+                selected.add(instance);
+            } else {
+                dropped += method.getInvocationCount();
+            }
+        }
+        deselected.accept(dropped);
+        System.out.println("[IMPACT] " + blockName + ": running " + selected.size() + " of "
+                + methods.size() + " tests for " + changed.size() + " changed files");
+        return selected;
+    }
+
+    /**
+     * @return Key of a test method in the impact map, "<class>#<method>"
+     */
+    static String testKey(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    // Returns why the test has to run, or null if the change can't affect it
+    private static String reason(ITestNGMethod method, String key, Set<String> usages, List<String> safetyGroups,
+                                 List<String> changedTestClasses, List<String> changedUsages,
+                                 List<String> changedHosts) {
+        for (String group : method.getGroups()) {
+            if (safetyGroups.contains(group)) {
+                return "in safety group " + group;
+            }
+        }
+        if (changedTestClasses.contains(method.getRealClass().getName())) {
+            return "test class changed";
+        }
+        if (usages == null) {
+            return "not in the impact map";
+        }
+        for (String usage : usages) {
+            for (String changedUsage : changedUsages) {
+                // A changed class ("Page#") matches all of its methods
+                if (changedUsage.endsWith("#") ? usage.startsWith(changedUsage) : usage.equals(changedUsage)) {
+                    return "uses " + usage;
+                }
+            }
+            for (String host : changedHosts) {
+                if (loadsHost(usage, host)) {
+                    return "loads " + usage.substring(ImpactMap.URL_PREFIX.length()) + " (fixtures changed)";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the usage is a URL on the host
+     */
+    static boolean loadsHost(String usage, String host) {
+        return usage.startsWith(ImpactMap.URL_PREFIX + host + "/");
+    }
+
+    private static List<IMethodInstance> all(List<IMethodInstance> methods, String blockName, String file) {
+        System.out.println("[IMPACT] " + blockName + ": " + file + " may affect every test - running all "
+                + methods.size());
+        return methods;
+    }
+
+    // Reads the comma-separated list, or the @file, normalized to forward slashes
+    static List<String> changedFiles(String property) {
+        List<String> entries;
+        if (property.startsWith("@")) {
+            try {
+                entries = Files.readAllLines(Paths.get(property.substring(1)), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read changed files from " + property.substring(1), e);
+            }
+        } else {
+            entries = Arrays.asList(property.split(","));
+        }
+        List<String> files = new ArrayList<>();
+        for (String entry : entries) {
+            String file = entry.trim().replace('\\', '/');
+            if (!file.isEmpty()) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    // "framework/pages/LoginPage.java" -> "framework.pages.LoginPage"
+    private static String className(String relativePath) {
+        return relativePath.substring(0, relativePath.length() - ".java".length()).replace('/', '.');
+    }
+}
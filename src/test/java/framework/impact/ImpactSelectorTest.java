@@ -0,0 +1,229 @@
+package framework.impact;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import tests.OrangeHRMLoginTest;
+import tests.SearchFlipkart;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for selecting tests by the impact of changed files
+ * Runs ImpactSelector.select on stub methods against a temporary impact map. A test that
+ * a change can affect must never be left out. No browser is needed.
+ *
+ * The changed files, safety groups and map file are passed in, so the test never touches
+ * the -Dimpact.* properties or the live metrics of the suite it runs in.
+ */
+public class ImpactSelectorTest {
+
+    private static final String LOGIN = OrangeHRMLoginTest.class.getName();
+    private static final String SEARCH = SearchFlipkart.class.getName();
+    private static final String LOGIN_PAGE = "framework.pages.OrangeHRMLoginPage";
+
+    /**
+     * Test that -Dimpact.changed is read as a list or an @file, with forward slashes
+     */
+    @Test(groups = {"impact"})
+    public void testChangedFilesAreParsed() throws IOException {
+        Assert.assertEquals(ImpactSelector.changedFiles(" pom.xml, src\\test\\java\\tests\\SimpleTest.java,,"),
+                Arrays.asList("pom.xml", "src/test/java/tests/SimpleTest.java"));
+        Path file = Files.createTempFile("changed", ".txt");
+        try {
+            Files.write(file, Arrays.asList("testng.xml", "", LOGIN_PAGE + "#login"));
+            Assert.assertEquals(ImpactSelector.changedFiles("@" + file),
+                    Arrays.asList("testng.xml", LOGIN_PAGE + "#login"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test that a changed page class selects every test that used any of its methods
+     */
+    @Test(groups = {"impact"})
+    public void testChangedPageClassSelectsItsUsers() throws IOException {
+        Assert.assertEquals(select(impactMap(), "src/test/java/framework/pages/OrangeHRMLoginPage.java"), Arrays.asList(LOGIN + "#testSuccessfulLogin", LOGIN + "#testInvalidPassword",
+                LOGIN + "#testNewLogin", SEARCH + "#searchSmoke"));
+    }
+
+    /**
+     * Test that a changed "Class#method" selects only the tests that used that method
+     */
+    @Test(groups = {"impact"})
+    public void testChangedPageMethodSelectsOnlyItsUsers() throws IOException {
+        Assert.assertEquals(select(impactMap(), LOGIN_PAGE + "#login"), Arrays.asList(LOGIN + "#testSuccessfulLogin",
+                LOGIN + "#testNewLogin", SEARCH + "#searchSmoke"));
+    }
+
+    /**
+     * Test that a changed test class selects all of its tests, and safety groups always run
+     */
+    @Test(groups = {"impact"})
+    public void testChangedTestClassAndSafetyGroups() throws IOException {
+        Assert.assertEquals(select(impactMap(), "src/test/java/tests/SearchFlipkart.java", "docs/README.md"),
+                Arrays.asList(LOGIN + "#testNewLogin", SEARCH + "#search", SEARCH + "#searchSmoke"));
+
+        Assert.assertEquals(select(impactMap(), Collections.singletonList("login"), "docs/README.md"), Arrays.asList(LOGIN + "#testSuccessfulLogin", LOGIN + "#testNewLogin"),
+                "Only new tests and -Dimpact.always groups should run for a docs change");
+    }
+
+    /**
+     * Test that changed fixtures select the tests that loaded their host, bare origins included
+     */
+    @Test(groups = {"impact"})
+    public void testChangedFixturesSelectTheirHost() throws IOException {
+        Assert.assertEquals(select(impactMap(), "src/test/resources/fixtures/www.flipkart.com/index.json"),
+                Arrays.asList(LOGIN + "#testNewLogin", SEARCH + "#search", SEARCH + "#searchSmoke"));
+    }
+
+    /**
+     * Test that changes to the framework and the build files run the whole suite
+     */
+    @Test(groups = {"impact"})
+    public void testFrameworkAndBuildChangesRunEverything() throws IOException {
+        List<String> all = Arrays.asList(LOGIN + "#testSuccessfulLogin", LOGIN + "#testInvalidPassword",
+                LOGIN + "#testNewLogin", SEARCH + "#search", SEARCH + "#searchSmoke");
+        for (String file : Arrays.asList("src/test/java/framework/core/DriverFactory.java",
+                "src/test/java/base/BaseTest.java", "src/main/java/framework/binding/FindByProcessor.java",
+                "pom.xml", "testng.xml")) {
+            Assert.assertEquals(select(impactMap(), file), all, file + " should select every test");
+        }
+    }
+
+    /**
+     * Test that a test that didn't pass keeps its recorded usages and stays selected for them
+     */
+    @Test(groups = {"impact"})
+    public void testFailedTestKeepsItsUsages() throws IOException {
+        Map<String, Set<String>> map = impactMap();
+        Map<String, Set<String>> run = new HashMap<>();
+        run.put(LOGIN + "#testSuccessfulLogin", usages(LOGIN_PAGE + "#enterUsername"));
+        run.put(LOGIN + "#testInvalidPassword", usages(LOGIN_PAGE + "#enterUsername"));
+        Map<String, Boolean> passed = new HashMap<>();
+        passed.put(LOGIN + "#testSuccessfulLogin", false);
+        passed.put(LOGIN + "#testInvalidPassword", true);
+        ImpactRecorder.merge(map, run, passed);
+
+        Assert.assertEquals(map.get(LOGIN + "#testSuccessfulLogin"), usages(LOGIN_PAGE + "#enterUsername",
+                LOGIN_PAGE + "#login", "url:opensource-demo.orangehrmlive.com/web/index.php/auth/login"),
+                "A failed test should add its new usages to the recorded ones");
+        Assert.assertEquals(map.get(LOGIN + "#testInvalidPassword"), usages(LOGIN_PAGE + "#enterUsername"),
+                "A passed test should replace its recorded usages");
+
+        Assert.assertEquals(select(map, LOGIN_PAGE + "#login"), Arrays.asList(LOGIN + "#testSuccessfulLogin",
+                LOGIN + "#testNewLogin", SEARCH + "#searchSmoke"));
+    }
+
+    /**
+     * Test that a bare origin is recorded with the path "/" and selected by its host
+     */
+    @Test(groups = {"impact"})
+    public void testBareOriginIsSelectedByHost() {
+        String usage = ImpactRecorder.urlUsage("https://www.google.com");
+        Assert.assertEquals(usage, "url:www.google.com/");
+        Assert.assertTrue(ImpactSelector.loadsHost(usage, "www.google.com"), "Bare origin should match its host");
+    }
+
+    /**
+     * Test that local fixture URLs are recorded as the live host
+     */
+    @Test(groups = {"impact"})
+    public void testFixtureUrlIsRecordedAsLiveHost() {
+        Assert.assertEquals(ImpactRecorder.urlUsage("http://www.google.com.localhost:8089/search?q=x"),
+                "url:www.google.com/search");
+        Assert.assertEquals(ImpactRecorder.urlUsage("http://www.google.com.localhost:8089"), "url:www.google.com/");
+    }
+
+    /**
+     * Test host matching on paths and on look-alike hosts
+     */
+    @Test(groups = {"impact"})
+    public void testHostMatching() {
+        Assert.assertTrue(ImpactSelector.loadsHost("url:www.google.com/search", "www.google.com"));
+        Assert.assertFalse(ImpactSelector.loadsHost("url:www.google.com.evil/", "www.google.com"));
+        Assert.assertFalse(ImpactSelector.loadsHost("framework.pages.GoogleSearchPage#search", "www.google.com"));
+    }
+
+    // Usages recorded for the fixed suite of select(); testNewLogin is not in the map yet
+    private static Map<String, Set<String>> impactMap() {
+        Map<String, Set<String>> map = new TreeMap<>();
+        map.put(LOGIN + "#testSuccessfulLogin", usages(LOGIN_PAGE + "#login",
+                "url:opensource-demo.orangehrmlive.com/web/index.php/auth/login"));
+        map.put(LOGIN + "#testInvalidPassword", usages(LOGIN_PAGE + "#enterPassword"));
+        map.put(SEARCH + "#search", usages("url:www.flipkart.com/"));
+        map.put(SEARCH + "#searchSmoke", usages("url:www.flipkart.com/"));
+        return map;
+    }
+
+    private static List<String> select(Map<String, Set<String>> map, String... changed) throws IOException {
+        return select(map, Collections.singletonList("smoke"), changed);
+    }
+
+    // Runs the selector on a fixed suite and returns the keys of the selected tests, in order;
+    // searchSmoke is in the smoke group. Checks the deselected count matches the selection.
+    private static List<String> select(Map<String, Set<String>> map, List<String> safetyGroups, String... changed)
+            throws IOException {
+        List<IMethodInstance> methods = Arrays.asList(
+                method(OrangeHRMLoginTest.class, "testSuccessfulLogin", "login"),
+                method(OrangeHRMLoginTest.class, "testInvalidPassword", "negative"),
+                method(OrangeHRMLoginTest.class, "testNewLogin", "login"),
+                method(SearchFlipkart.class, "search", "regression"),
+                method(SearchFlipkart.class, "searchSmoke", "smoke"));
+        Path mapFile = Files.createTempFile("impact-map", ".txt");
+        try {
+            ImpactMap.write(mapFile, map);
+            AtomicInteger deselected = new AtomicInteger();
+            List<String> selected = new ArrayList<>();
+            for (IMethodInstance instance : ImpactSelector.select(methods, "ImpactCheck", Arrays.asList(changed),
+                    safetyGroups, mapFile, deselected::addAndGet)) {
+                ITestNGMethod method = instance.getMethod();
+                selected.add(ImpactSelector.testKey(method.getRealClass().getName(), method.getMethodName()));
+            }
+            Assert.assertEquals(deselected.get(), methods.size() - selected.size(), "Deselected invocations");
+            return selected;
+        } finally {
+            Files.delete(mapFile);
+        }
+    }
+
+    private static IMethodInstance method(Class<?> testClass, String name, String group) {
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("getRealClass", testClass);
+        answers.put("getMethodName", name);
+        answers.put("getGroups", new String[]{group});
+        answers.put("getInvocationCount", 1);
+        ITestNGMethod method = stub(ITestNGMethod.class, answers);
+        return stub(IMethodInstance.class, Collections.singletonMap("getMethod", method));
+    }
+
+    // Answers the named no-argument methods, fails on any other call
+    private static <T> T stub(Class<T> type, Map<String, ?> answers) {
+        return type.cast(Proxy.newProxyInstance(ImpactSelectorTest.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!answers.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return answers.get(method.getName());
+                }));
+    }
+
+    private static Set<String> usages(String... usages) {
+        return new TreeSet<>(Arrays.asList(usages));
+    }
+}
@@ -0,0 +1,94 @@
+package framework.load;
+
+import java.time.Duration;
+
+/**
+ * LoadProfile class - How much load a LoadRunner generates
+ *
+ *   LoadProfile.users(10)
+ *           .rampUp(Duration.ofSeconds(30))
+ *           .targetRate(2.0)
+ *           .duration(Duration.ofMinutes(5));
+ */
+public class LoadProfile {
+
+    private final int users;
+    private Duration rampUp = Duration.ZERO;
+    private double targetRate;
+    private Duration duration = Duration.ofMinutes(1);
+    private String browser = "chrome";
+
+    private LoadProfile(int users) {
+        this.users = users;
+    }
+
+    /**
+     * @param users - Number of concurrent virtual users, each with its own headless browser
+     * @return Profile with no ramp-up, no rate limit and a one minute duration
+     */
+    public static LoadProfile users(int users) {
+        if (users < 1) {
+            throw new IllegalArgumentException("At least one virtual user is required");
+        }
+        return new LoadProfile(users);
+    }
+
+    /**
+     * @param rampUp - Time over which the virtual users are started, evenly spaced
+     */
+    public LoadProfile rampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    /**
+     * @param iterationsPerSecond - Target rate of scenario iterations over all users; 0 means as fast as possible
+     *        Slots the users are too busy to take are skipped, not made up later
+     */
+    public LoadProfile targetRate(double iterationsPerSecond) {
+        this.targetRate = iterationsPerSecond;
+        return this;
+    }
+
+    /**
+     * @param duration - Total run time, ramp-up included
+     */
+    public LoadProfile duration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * @param browser - Browser for the virtual users ("chrome", "firefox" or "edge")
+     */
+    public LoadProfile browser(String browser) {
+        this.browser = browser;
+        return this;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    @Override
+    public String toString() {
+        return users + " users, ramp-up " + rampUp.getSeconds() + "s, target "
+                + (targetRate > 0 ? targetRate + " it/s" : "unlimited") + ", duration " + duration.getSeconds() + "s";
+    }
+}
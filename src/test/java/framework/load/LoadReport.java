@@ -0,0 +1,135 @@
+package framework.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LoadReport class - Throughput and latency percentiles per step of a load run
+ * Filled concurrently by the virtual users of a LoadRunner.
+ */
+public class LoadReport {
+
+    // Name of the pseudo-step that covers a whole scenario iteration
+    public static final String ITERATION = "(iteration)";
+
+    private final LoadProfile profile;
+
+    // Statistics per step, in the order the steps were first seen
+    private final Map<String, StepStats> steps = new LinkedHashMap<>();
+
+    // Wall time of the run, set when the run ends
+    private volatile long elapsedNanos;
+
+    LoadReport(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    void record(String step, long nanos, boolean error) {
+        StepStats stats;
+        synchronized (steps) {
+            stats = steps.computeIfAbsent(step, name -> new StepStats());
+        }
+        stats.record(nanos, error);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return Completed scenario iterations, failed ones included
+     */
+    public long getIterations() {
+        StepStats iteration = stats(ITERATION);
+        return iteration == null ? 0 : iteration.count();
+    }
+
+    /**
+     * @param step - Step name, or ITERATION
+     * @return Failed executions of the step
+     */
+    public long getErrors(String step) {
+        StepStats stats = stats(step);
+        return stats == null ? 0 : stats.errors();
+    }
+
+    /**
+     * @param step - Step name, or ITERATION
+     * @param percentile - e.g. 95 for p95
+     * @return Latency percentile of the step in milliseconds, or NaN if it never ran
+     */
+    public double getPercentileMillis(String step, int percentile) {
+        StepStats stats = stats(step);
+        return stats == null ? Double.NaN : stats.percentile(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Prints throughput and latency percentiles per step
+     */
+    public void print() {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.println("[LOAD] ===== Load report: " + profile + ", ran " + String.format("%.1fs", seconds) + " =====");
+        System.out.println(String.format("[LOAD] %-28s %7s %7s %9s %8s %8s %8s %8s %8s",
+                "step", "count", "errors", "thrpt/s", "p50", "p90", "p95", "p99", "max"));
+        Map<String, StepStats> snapshot;
+        synchronized (steps) {
+            snapshot = new LinkedHashMap<>(steps);
+        }
+        for (Map.Entry<String, StepStats> entry : snapshot.entrySet()) {
+            StepStats stats = entry.getValue();
+            System.out.println(String.format("[LOAD] %-28s %7d %7d %9.2f %8s %8s %8s %8s %8s",
+                    entry.getKey(), stats.count(), stats.errors(), seconds > 0 ? stats.count() / seconds : 0.0,
+                    millis(stats.percentile(50)), millis(stats.percentile(90)), millis(stats.percentile(95)),
+                    millis(stats.percentile(99)), millis(stats.percentile(100))));
+        }
+    }
+
+    private StepStats stats(String step) {
+        synchronized (steps) {
+            return steps.get(step);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.0fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * StepStats class - Latencies of one step, kept in a growing primitive array
+     */
+    private static class StepStats {
+        private long[] nanos = new long[64];
+        private int count;
+        private int errors;
+
+        synchronized void record(long elapsed, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsed;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        // Nearest-rank percentile; 100 gives the maximum
+        synchronized long percentile(int percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package framework.load;
+
+import framework.core.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.testng.Reporter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadRunner class - Runs a page-object flow with N concurrent virtual users
+ * Each virtual user gets its own headless browser from DriverFactory and repeats the
+ * LoadScenario until the profile's duration is over. Users are started evenly over the
+ * ramp-up time; with a target rate, iterations are paced on a shared schedule so all
+ * users together start at most that many iterations per second.
+ *
+ * When the users fall behind the schedule (slow iterations, too few users for the rate),
+ * the missed slots are skipped instead of made up: the next iteration starts now and the
+ * schedule continues from there. So the rate is never exceeded in catch-up bursts, and an
+ * iteration's latency, measured from its start, never includes time spent waiting for a
+ * slot. Falling behind shows up as throughput below the target rate instead.
+ *
+ * Point page objects at a local stand-in with -Dfixtures.mode=replay (see FixtureServer)
+ * to load test without touching the live site.
+ */
+public final class LoadRunner {
+
+    // Utility class - no instances
+    private LoadRunner() {
+    }
+
+    /**
+     * Runs the scenario with the given profile and waits until it is over
+     *
+     * @param profile - Users, ramp-up, rate and duration
+     * @param scenario - The flow each virtual user repeats
+     * @return Throughput and latency percentiles per step
+     */
+    public static LoadReport run(LoadProfile profile, LoadScenario scenario) throws InterruptedException {
+        LoadReport report = new LoadReport(profile);
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        long interval = profile.getTargetRate() > 0 ? (long) (1_000_000_000L / profile.getTargetRate()) : 0;
+        // Start time of the next paced iteration, shared by all users
+        AtomicLong nextSlot = new AtomicLong(start);
+
+        AtomicInteger userIds = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(profile.getUsers(),
+                runnable -> new Thread(runnable, "vu-" + userIds.incrementAndGet()));
+        System.out.println("[LOAD] Starting " + profile);
+        for (int user = 0; user < profile.getUsers(); user++) {
+            long userStart = start + profile.getRampUp().toNanos() * user / profile.getUsers();
+            users.execute(() -> runUser(profile, scenario, report, userStart, end, interval, nextSlot));
+        }
+        users.shutdown();
+        // Give the last iterations time to finish after the duration is over
+        if (!users.awaitTermination(profile.getDuration().toMillis() + TimeUnit.MINUTES.toMillis(2), TimeUnit.MILLISECONDS)) {
+            users.shutdownNow();
+            // Interrupted users still record their current step and quit their browser
+            users.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        report.finish(System.nanoTime() - start);
+        report.print();
+        return report;
+    }
+
+    /**
+     * Body of one virtual user thread
+     */
+    private static void runUser(LoadProfile profile, LoadScenario scenario, LoadReport report,
+                                long userStart, long end, long interval, AtomicLong nextSlot) {
+        // Reporter's current result is inherited from the thread that started the load test;
+        // without this, every user's TimedWait/TimedSleep would add to that one test's timings
+        Reporter.setCurrentTestResult(null);
+        WebDriver driver = null;
+        try {
+            sleepUntil(userStart);
+            driver = DriverFactory.createDriver(profile.getBrowser(), true);
+            while (true) {
+                long iterationStart = interval > 0 ? claimSlot(nextSlot, interval) : System.nanoTime();
+                if (iterationStart >= end) {
+                    break;
+                }
+                sleepUntil(iterationStart);
+
+                WebDriver session = driver;
+                boolean error = false;
+                try {
+                    scenario.run(session, (name, step) -> {
+                        long stepStart = System.nanoTime();
+                        boolean stepError = true;
+                        try {
+                            step.run();
+                            stepError = false;
+                        } finally {
+                            report.record(name, System.nanoTime() - stepStart, stepError);
+                        }
+                    });
+                } catch (Exception e) {
+                    error = true;
+                    System.out.println("[LOAD] " + Thread.currentThread().getName() + " iteration failed: " + e.getMessage());
+                }
+                report.record(LoadReport.ITERATION, System.nanoTime() - iterationStart, error);
+                // Every iteration starts as a new visitor
+                session.manage().deleteAllCookies();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("[LOAD] " + Thread.currentThread().getName() + " stopped: " + e.getMessage());
+        } finally {
+            DriverFactory.quitDriver(driver);
+        }
+    }
+
+    // Takes the next slot of the shared schedule; a slot already in the past is skipped, with
+    // the ones after it, and the schedule restarts from now
+    private static long claimSlot(AtomicLong nextSlot, long interval) {
+        while (true) {
+            long slot = nextSlot.get();
+            long start = Math.max(slot, System.nanoTime());
+            if (nextSlot.compareAndSet(slot, start + interval)) {
+                return start;
+            }
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package framework.load;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * LoadScenario interface - One iteration of a page-object flow, run by each virtual user
+ * Wrap every step in steps.step(...) so its latency shows up in the LoadReport, e.g.
+ *
+ *   (driver, steps) -> {
+ *       OrangeHRMLoginPage page = new OrangeHRMLoginPage(driver);
+ *       steps.step("open login page", page::navigateToLoginPage);
+ *       steps.step("login", () -> page.login("Admin", "admin123"));
+ *   }
+ */
+@FunctionalInterface
+public interface LoadScenario {
+
+    /**
+     * @param driver - The virtual user's own headless browser session
+     * @param steps - Times the named steps of this iteration
+     */
+    void run(WebDriver driver, Steps steps) throws Exception;
+
+    /**
+     * Steps interface - Times named steps of an iteration
+     */
+    interface Steps {
+        void step(String name, Step step) throws Exception;
+    }
+
+    /**
+     * Step interface - The action of one step
+     */
+    @FunctionalInterface
+    interface Step {
+        void run() throws Exception;
+    }
+}
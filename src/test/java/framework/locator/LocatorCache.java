@@ -0,0 +1,108 @@
+package framework.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocatorCache class - Resolves the locator each @FindBy field is looked up with
+ * Called by the generated <Page>_Elements binders (see framework.binding.FindByProcessor).
+ *
+ * With -Dlocator.rewrite=true, XPath locators that have an exact CSS or id/name equivalent
+ * (see XPathTranslator) are looked up with that instead. The translation is done once per
+ * page class, field and declared locator, then served from the cache every time a page object
+ * is created; without -Dlocator.rewrite nothing is cached and the declared locator is used as is.
+ * With -Dlocator.profile=true it also remembers which fields declare each locator, for the
+ * LocatorProfiler report.
+ */
+public final class LocatorCache {
+
+    // true when -Dlocator.rewrite=true is set
+    private static final boolean REWRITE = Boolean.getBoolean("locator.rewrite");
+
+    // Resolved locator per page class name, keyed by "field=declared locator"; the declared By when there is no translation
+    // Keyed by name, not Class, so the runner daemon's reloaded page classes can be unloaded; the declared
+    // locator is part of the key, so an edited @FindBy is translated again after the page is reloaded
+    private static final Map<String, Map<String, By>> RESOLVED = new ConcurrentHashMap<>();
+
+    // "Page.field" names of the fields each locator (as looked up) was declared by
+    private static final Map<By, Set<String>> DECLARED_BY = new ConcurrentHashMap<>();
+
+    // Original XPath of each rewritten locator
+    private static final Map<By, By> REWRITTEN_FROM = new ConcurrentHashMap<>();
+
+    // Utility class - no instances
+    private LocatorCache() {
+    }
+
+    /**
+     * Returns the locator to look a @FindBy field up with
+     *
+     * @param page - Page object class declaring the field
+     * @param field - Field name
+     * @param declared - Locator built from the @FindBy annotation
+     * @param context - Where the binder searches; only WebDriver lookups are rewritten
+     * @return The cached translation, or declared
+     */
+    public static By resolve(Class<?> page, String field, By declared, SearchContext context) {
+        // XPaths starting with // search from the document root even from an element, CSS would not
+        if (!(context instanceof WebDriver)) {
+            return declared;
+        }
+        if (!REWRITE) {
+            if (LocatorProfiler.isEnabled()) {
+                declare(declared, page, field);
+            }
+            return declared;
+        }
+        return RESOLVED.computeIfAbsent(page.getName(), name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(field + "=" + declared, key -> translate(page, field, declared));
+    }
+
+    /**
+     * Forgets the translations and declarations of previous runs
+     * Called from BaseTest @BeforeSuite, so the runner daemon's page edits and reports start fresh
+     */
+    public static void reset() {
+        RESOLVED.clear();
+        DECLARED_BY.clear();
+        REWRITTEN_FROM.clear();
+    }
+
+    /**
+     * @return Names of the fields declaring a locator, e.g. ["OrangeHRMLoginPage.loginTitle"], or null
+     */
+    static Set<String> declaredBy(By by) {
+        return DECLARED_BY.get(by);
+    }
+
+    /**
+     * @return The XPath a locator was rewritten from, or null
+     */
+    static By rewrittenFrom(By by) {
+        return REWRITTEN_FROM.get(by);
+    }
+
+    // Runs once per page class, field and declared locator, with -Dlocator.rewrite=true
+    private static By translate(Class<?> page, String field, By declared) {
+        By resolved = declared;
+        By faster = XPathTranslator.translate(declared);
+        if (faster != null) {
+            System.out.println("[LOCATOR] " + page.getSimpleName() + "." + field + ": " + declared
+                    + " -> " + faster);
+            REWRITTEN_FROM.put(faster, declared);
+            resolved = faster;
+        }
+        declare(resolved, page, field);
+        return resolved;
+    }
+
+    private static void declare(By by, Class<?> page, String field) {
+        DECLARED_BY.computeIfAbsent(by, key -> ConcurrentHashMap.newKeySet())
+                .add(page.getSimpleName() + "." + field);
+    }
+}
@@ -0,0 +1,179 @@
+package framework.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocatorProfiler class - Times every element lookup and ranks locators by total cost
+ * Enabled with -Dlocator.profile=true; BaseTest then registers it with DriverFactory.
+ *
+ * Every findElement/findElements call - from @FindBy fields (LazyElement), explicit waits
+ * or plain driver.findElement(By) - is timed, keyed by its locator. printReport() lists the
+ * locators by total lookup time over the suite, with the page fields declaring them and,
+ * for XPaths, the equivalent faster locator (see XPathTranslator) to use instead.
+ */
+public class LocatorProfiler implements WebDriverListener {
+
+    // true when -Dlocator.profile=true is set
+    private static final boolean ENABLED = Boolean.getBoolean("locator.profile");
+
+    // Statistics per locator, keyed by its toString(), e.g. "By.xpath: //h5[...]"
+    private static final Map<String, Stats> LOCATORS = new ConcurrentHashMap<>();
+
+    // Start of the lookup in progress on this thread - lookups never nest
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * @return true if -Dlocator.profile=true is set
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterFindElement(WebDriver driver, By locator, WebElement result) {
+        record(locator, true);
+    }
+
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterFindElements(WebDriver driver, By locator, List<WebElement> result) {
+        record(locator, !result.isEmpty());
+    }
+
+    @Override
+    public void beforeFindElement(WebElement element, By locator) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterFindElement(WebElement element, By locator, WebElement result) {
+        record(locator, true);
+    }
+
+    @Override
+    public void beforeFindElements(WebElement element, By locator) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterFindElements(WebElement element, By locator, List<WebElement> result) {
+        record(locator, !result.isEmpty());
+    }
+
+    // A lookup that found nothing throws NoSuchElementException - it still cost the round trip
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        String name = method.getName();
+        if ((name.equals("findElement") || name.equals("findElements")) && args != null
+                && args.length == 1 && args[0] instanceof By) {
+            record((By) args[0], false);
+        }
+    }
+
+    private static void record(By locator, boolean found) {
+        long[] start = START.get();
+        if (start[0] == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start[0];
+        start[0] = 0;
+        LOCATORS.computeIfAbsent(locator.toString(), key -> new Stats(locator)).record(elapsed, found);
+    }
+
+    /**
+     * Forgets the lookups of previous runs
+     * Called from BaseTest @BeforeSuite, so a long-lived process reports each run on its own
+     */
+    public static void reset() {
+        LOCATORS.clear();
+    }
+
+    /**
+     * Prints the locators ranked by total lookup time, with faster equivalents for XPaths
+     * Called once from BaseTest @AfterSuite
+     */
+    public static void printReport() {
+        if (!ENABLED) {
+            return;
+        }
+        List<Stats> locators = new ArrayList<>(LOCATORS.values());
+        locators.sort((a, b) -> Long.compare(b.totalNanos(), a.totalNanos()));
+        System.out.println("[LOCATOR] ===== Locators ranked by total lookup time =====");
+        int rank = 1;
+        for (Stats stats : locators) {
+            System.out.println("[LOCATOR] #" + rank++ + " " + stats.locator);
+            System.out.println("[LOCATOR]     " + stats.describe());
+            Set<String> fields = LocatorCache.declaredBy(stats.locator);
+            if (fields != null) {
+                System.out.println("[LOCATOR]     declared by " + String.join(", ", new TreeSet<>(fields)));
+            }
+            By original = LocatorCache.rewrittenFrom(stats.locator);
+            By faster = XPathTranslator.translate(stats.locator);
+            if (original != null) {
+                System.out.println("[LOCATOR]     rewritten from " + original);
+            } else if (faster != null) {
+                System.out.println("[LOCATOR]     faster equivalent for driver lookups: " + faster
+                        + (fields != null ? " (applied with -Dlocator.rewrite=true)" : ""));
+            }
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Stats class - Lookups made with one locator
+     */
+    private static class Stats {
+        private final By locator;
+
+        private int lookups;
+        private int misses;
+        private long totalNanos;
+        private long maxNanos;
+
+        Stats(By locator) {
+            this.locator = locator;
+        }
+
+        synchronized void record(long elapsed, boolean found) {
+            lookups++;
+            if (!found) {
+                misses++;
+            }
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+        }
+
+        synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        synchronized String describe() {
+            return lookups + " lookups, total " + millis(totalNanos) + ", avg " + millis(totalNanos / lookups)
+                    + ", max " + millis(maxNanos) + ", " + misses + " found nothing";
+        }
+    }
+}
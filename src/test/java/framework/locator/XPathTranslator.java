@@ -0,0 +1,307 @@
+package framework.locator;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * XPathTranslator class - Finds the CSS (or id/name) form of an XPath locator, if it has one
+ * Browsers answer CSS selectors from their style engine's indexes, while XPath goes
+ * through a slower generic evaluator; the union of two XPaths costs two full evaluations.
+ *
+ * Only XPaths with an exactly equivalent selector are translated:
+ *
+ *   //tag or //*                     -> tag or *
+ *   //a//b, //a/b                    -> a b, a > b
+ *   [@attr='v']                      -> [attr='v']  (exact match, also for @class)
+ *   [@attr]                          -> [attr]
+ *   [contains(@attr,'v')]            -> [attr*='v']
+ *   [starts-with(@attr,'v')]         -> [attr^='v']
+ *   [p and q], [p][q]                -> both conditions
+ *   x | y                            -> x, y  (both return document order)
+ *   //*[@id='v'], //*[@name='v']     -> By.id, By.name
+ *
+ * Anything else - text(), positions, axes, "or", functions - returns null. So do value
+ * tests on attributes such as @type, whose values CSS matches case-insensitively in HTML
+ * documents while XPath compares them exactly (the " s" selector flag is not supported
+ * in every browser).
+ * XPaths starting with // search the whole document, so translations are only valid
+ * for lookups from the WebDriver itself, not from an element.
+ */
+public final class XPathTranslator {
+
+    // HTML attributes whose values selectors match ASCII case-insensitively (HTML spec, "Selectors")
+    private static final Set<String> CASE_INSENSITIVE = new HashSet<>(Arrays.asList(
+            "accept", "accept-charset", "align", "alink", "axis", "bgcolor", "charset", "checked",
+            "clear", "codetype", "color", "compact", "declare", "defer", "dir", "direction", "disabled",
+            "enctype", "face", "frame", "hreflang", "http-equiv", "lang", "language", "link", "media",
+            "method", "multiple", "nohref", "noresize", "noshade", "nowrap", "readonly", "rel", "rev",
+            "rules", "scope", "scrolling", "selected", "shape", "target", "text", "type", "valign",
+            "valuetype", "vlink"));
+
+    // Utility class - no instances
+    private XPathTranslator() {
+    }
+
+    /**
+     * @param by - Any locator
+     * @return The equivalent faster locator, or null if by is not an XPath or has no exact equivalent
+     */
+    public static By translate(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (!"xpath".equals(parameters.using())) {
+            return null;
+        }
+        return translate(String.valueOf(parameters.value()));
+    }
+
+    /**
+     * @param xpath - XPath expression, e.g. "//input[@name='username']"
+     * @return The equivalent faster locator, or null if there is none
+     */
+    public static By translate(String xpath) {
+        List<String> selectors = new ArrayList<>();
+        Parser parser = new Parser(xpath);
+        do {
+            String selector = parser.path();
+            if (selector == null) {
+                return null;
+            }
+            selectors.add(selector);
+        } while (parser.accept("|"));
+        if (!parser.atEnd()) {
+            return null;
+        }
+        if (selectors.size() == 1 && parser.singleStep) {
+            // A lone id or name condition on any element has its own locator
+            if (parser.onlyId != null) {
+                return By.id(parser.onlyId);
+            }
+            if (parser.onlyName != null) {
+                return By.name(parser.onlyName);
+            }
+        }
+        return By.cssSelector(String.join(", ", selectors));
+    }
+
+    /**
+     * Parser class - Recursive descent over the supported XPath subset, emitting CSS as it goes
+     */
+    private static class Parser {
+        private final String text;
+        private int position;
+
+        // Set when the expression is a single step whose only condition is @id or @name equality
+        private boolean singleStep;
+        private String onlyId;
+        private String onlyName;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        // path := ('//' step) (('//' | '/') step)*
+        String path() {
+            skipSpaces();
+            if (!text.startsWith("//", position)) {
+                return null;
+            }
+            StringBuilder css = new StringBuilder();
+            int steps = 0;
+            int conditions = 0;
+            String lastId = null;
+            String lastName = null;
+            while (true) {
+                String combinator;
+                if (text.startsWith("//", position)) {
+                    position += 2;
+                    combinator = " ";
+                } else if (text.startsWith("/", position)) {
+                    position++;
+                    combinator = " > ";
+                } else {
+                    break;
+                }
+                if (steps > 0) {
+                    css.append(combinator);
+                } else if (combinator.equals(" > ")) {
+                    return null;
+                }
+                String name = name();
+                if (name == null) {
+                    if (!accept("*")) {
+                        return null;
+                    }
+                    name = "*";
+                }
+                css.append(name);
+                conditions = 0;
+                lastId = null;
+                lastName = null;
+                while (accept("[")) {
+                    do {
+                        Condition condition = condition();
+                        if (condition == null) {
+                            return null;
+                        }
+                        css.append(condition.css);
+                        conditions++;
+                        lastId = condition.id;
+                        lastName = condition.name;
+                    } while (acceptWord("and"));
+                    if (!accept("]")) {
+                        return null;
+                    }
+                }
+                steps++;
+                if (!"*".equals(name)) {
+                    lastId = null;
+                    lastName = null;
+                }
+            }
+            singleStep = steps == 1 && conditions == 1;
+            onlyId = singleStep ? lastId : null;
+            onlyName = singleStep ? lastName : null;
+            skipSpaces();
+            return css.toString();
+        }
+
+        // condition := '@' name ('=' literal)? | ('contains' | 'starts-with') '(' '@' name ',' literal ')'
+        Condition condition() {
+            skipSpaces();
+            if (accept("@")) {
+                String attribute = name();
+                if (attribute == null) {
+                    return null;
+                }
+                if (!accept("=")) {
+                    return new Condition("[" + attribute + "]", null, null);
+                }
+                String value = literal();
+                if (value == null || CASE_INSENSITIVE.contains(attribute.toLowerCase())) {
+                    return null;
+                }
+                return new Condition("[" + attribute + "=" + cssString(value) + "]",
+                        "id".equals(attribute) ? value : null, "name".equals(attribute) ? value : null);
+            }
+            String operator;
+            if (acceptWord("contains")) {
+                operator = "*=";
+            } else if (acceptWord("starts-with")) {
+                operator = "^=";
+            } else {
+                return null;
+            }
+            if (!accept("(") || !accept("@")) {
+                return null;
+            }
+            String attribute = name();
+            if (attribute == null || CASE_INSENSITIVE.contains(attribute.toLowerCase()) || !accept(",")) {
+                return null;
+            }
+            String value = literal();
+            // Every string contains '' - even a missing attribute - while [attr*=''] matches nothing
+            if (value == null || value.isEmpty() || !accept(")")) {
+                return null;
+            }
+            return new Condition("[" + attribute + operator + cssString(value) + "]", null, null);
+        }
+
+        // Element and attribute names; prefixed (namespaced) names are not supported
+        String name() {
+            skipSpaces();
+            int start = position;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (Character.isLetterOrDigit(c) || c == '_' || (c == '-' && position > start)) {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            if (position == start || Character.isDigit(text.charAt(start))) {
+                position = start;
+                return null;
+            }
+            return text.substring(start, position);
+        }
+
+        // 'text' or "text" - XPath 1.0 literals have no escapes
+        String literal() {
+            skipSpaces();
+            if (position >= text.length()) {
+                return null;
+            }
+            char quote = text.charAt(position);
+            if (quote != '\'' && quote != '"') {
+                return null;
+            }
+            int end = text.indexOf(quote, position + 1);
+            if (end < 0) {
+                return null;
+            }
+            String value = text.substring(position + 1, end);
+            position = end + 1;
+            return value;
+        }
+
+        boolean accept(String token) {
+            skipSpaces();
+            if (text.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        // Like accept(), but "and" must not be the start of a longer name such as "android"
+        boolean acceptWord(String word) {
+            skipSpaces();
+            int end = position + word.length();
+            if (text.startsWith(word, position)
+                    && (end == text.length() || !(Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '-'))) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        boolean atEnd() {
+            skipSpaces();
+            return position == text.length();
+        }
+
+        private void skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        // CSS string in single quotes
+        private static String cssString(String value) {
+            return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+        }
+    }
+
+    /**
+     * Condition class - One translated predicate, remembering id/name equality for By.id/By.name
+     */
+    private static class Condition {
+        private final String css;
+        private final String id;
+        private final String name;
+
+        Condition(String css, String id, String name) {
+            this.css = css;
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
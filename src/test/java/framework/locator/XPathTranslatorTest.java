@@ -0,0 +1,88 @@
+package framework.locator;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the XPath to CSS translations used under -Dlocator.rewrite=true
+ * Each XPath either has an exactly equivalent locator or must stay untranslated - a wrong
+ * translation silently finds other elements. No browser is needed.
+ */
+public class XPathTranslatorTest {
+
+    @DataProvider(name = "translations")
+    public Object[][] translations() {
+        return new Object[][]{
+                // Locators of OrangeHRMLoginPage
+                {"//h5[@class='oxd-text oxd-text--h5 orangehrm-login-title']",
+                        By.cssSelector("h5[class='oxd-text oxd-text--h5 orangehrm-login-title']")},
+                {"//input[@name='username']", By.cssSelector("input[name='username']")},
+                {"//label[@for='password']", By.cssSelector("label[for='password']")},
+                // Steps and combinators
+                {"//*", By.cssSelector("*")},
+                {"//form//button", By.cssSelector("form button")},
+                {"//form/div/button", By.cssSelector("form > div > button")},
+                {"//form//div/button", By.cssSelector("form div > button")},
+                // Conditions
+                {"//input[@required]", By.cssSelector("input[required]")},
+                {"//input[@name='u' and @placeholder='User']", By.cssSelector("input[name='u'][placeholder='User']")},
+                {"//input[@name='u'][@placeholder='User']", By.cssSelector("input[name='u'][placeholder='User']")},
+                {"//button[contains(@class,'oxd-button')]", By.cssSelector("button[class*='oxd-button']")},
+                {"//a[starts-with(@href,'https')]", By.cssSelector("a[href^='https']")},
+                {"//a[@title=\"it's\"]", By.cssSelector("a[title='it\\'s']")},
+                {"//android[@id='x']", By.cssSelector("android[id='x']")},
+                // Unions
+                {"//button[contains(@class,'oxd-button')] | //a[@href='/login']",
+                        By.cssSelector("button[class*='oxd-button'], a[href='/login']")},
+                // Lone id or name conditions
+                {"//*[@id='username']", By.id("username")},
+                {"//*[@name='username']", By.name("username")},
+                {"//input[@id='username']", By.cssSelector("input[id='username']")},
+                {"//form/*[@id='username']", By.cssSelector("form > *[id='username']")},
+                {"//*[@id='a' and @name='b']", By.cssSelector("*[id='a'][name='b']")},
+                {"//*[@id='a'] | //*[@id='b']", By.cssSelector("*[id='a'], *[id='b']")},
+                // No exact equivalent
+                {"//button[@type='submit'] | //button[contains(@class,'oxd-button')]", null},
+                {"//button[@type='submit']", null},
+                {"//input[contains(@type,'text')]", null},
+                {"//label[text()='Username']", null},
+                {"//span[contains(text(),'Login')]", null},
+                {"//div[2]", null},
+                {"//div[position()=1]", null},
+                {"(//div)[1]", null},
+                {"//div/following-sibling::span", null},
+                {"//div/parent::form", null},
+                {"//div/..", null},
+                {"//a[@id='x' or @name='y']", null},
+                {"//svg:rect", null},
+                {"//*[@xlink:href='#icon']", null},
+                {"//a[contains(@href,'')]", null},
+                {"//a[starts-with(@href,'')]", null},
+                {"/html/body", null},
+                {"//input[@name='username'", null},
+                {"//input[@name=username]", null},
+                {"", null},
+        };
+    }
+
+    /**
+     * Test each XPath's translation, or that it has none
+     */
+    @Test(groups = {"locator"}, dataProvider = "translations")
+    public void testTranslate(String xpath, By expected) {
+        Assert.assertEquals(XPathTranslator.translate(xpath), expected, xpath);
+        Assert.assertEquals(XPathTranslator.translate(By.xpath(xpath)), expected, "By.xpath(" + xpath + ")");
+    }
+
+    /**
+     * Test that locators other than XPaths are never translated
+     */
+    @Test(groups = {"locator"})
+    public void testOtherLocatorsAreNotTranslated() {
+        Assert.assertNull(XPathTranslator.translate(By.id("username")));
+        Assert.assertNull(XPathTranslator.translate(By.cssSelector("//input")));
+        Assert.assertNull(XPathTranslator.translate(By.name("//*[@id='username']")));
+    }
+}
@@ -0,0 +1,27 @@
+package framework.metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * CommandMetricsListener class - Counts WebDriver calls for SuiteMetrics
+ * Registered with DriverFactory, which decorates every new session with it.
+ */
+public class CommandMetricsListener implements WebDriverListener {
+
+    // Calls that only return a helper object and never reach the browser
+    private static final Set<String> ACCESSORS = new HashSet<>(Arrays.asList(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "equals", "hashCode"));
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!ACCESSORS.contains(method.getName())) {
+            SuiteMetrics.commandExecuted(method.getName());
+        }
+    }
+}
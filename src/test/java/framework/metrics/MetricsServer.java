@@ -0,0 +1,73 @@
+package framework.metrics;
+
+// Import the JDK's built-in HTTP server - no extra dependency needed
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import framework.core.DriverFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * MetricsServer class - Optional HTTP endpoint that serves SuiteMetrics while the suite runs
+ * Enabled with -Dmetrics.port=<port>; serves http://localhost:<port>/metrics in the
+ * Prometheus text format, so a local Prometheus (or curl) can watch tests in flight,
+ * browser pool saturation, session startup latency and the WebDriver command rate.
+ */
+public final class MetricsServer {
+
+    // The running server, null when metrics are off
+    private static HttpServer server;
+
+    // Listener counting commands for the running server, unregistered by stop()
+    private static CommandMetricsListener commandListener;
+
+    // Utility class - no instances
+    private MetricsServer() {
+    }
+
+    /**
+     * Starts the endpoint if -Dmetrics.port is set
+     * Called once from BaseTest @BeforeSuite, before any browser session is created
+     */
+    public static synchronized void startIfEnabled() throws IOException {
+        Integer port = Integer.getInteger("metrics.port");
+        if (port == null || server != null) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", MetricsServer::handle);
+        server.start();
+        // Count WebDriver commands on every session created from now on
+        commandListener = new CommandMetricsListener();
+        DriverFactory.addListener(commandListener);
+        System.out.println("[METRICS] Serving http://localhost:" + server.getAddress().getPort() + "/metrics");
+    }
+
+    /**
+     * Stops the endpoint if it is running
+     * Called once from BaseTest @AfterSuite
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            // A later suite in the same JVM (the runner daemon) registers its own
+            DriverFactory.removeListener(commandListener);
+            commandListener = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        byte[] body = SuiteMetrics.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
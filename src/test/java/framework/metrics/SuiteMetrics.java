@@ -0,0 +1,172 @@
+package framework.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SuiteMetrics class - Live counters for the running suite
+ * Updated by TestListener (test events), ImpactSelector (deselected tests), DriverFactory
+ * (browser sessions) and CommandMetricsListener (WebDriver commands). Counting is always on and costs a
+ * LongAdder increment; MetricsServer exposes the values in Prometheus text format.
+ */
+public final class SuiteMetrics {
+
+    // Upper bounds of the session startup histogram buckets, in seconds
+    private static final double[] STARTUP_BUCKETS = {0.5, 1, 2, 5, 10, 20, 30, 60};
+
+    // Test counters
+    private static final LongAdder scheduled = new LongAdder();
+    private static final LongAdder started = new LongAdder();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final LongAdder passed = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final LongAdder skipped = new LongAdder();
+
+    // Browser session counters
+    private static final AtomicInteger sessionsActive = new AtomicInteger();
+    private static final AtomicInteger poolCapacity = new AtomicInteger(1);
+    private static final LongAdder[] startupBuckets = new LongAdder[STARTUP_BUCKETS.length];
+    private static final LongAdder startupCount = new LongAdder();
+    private static final LongAdder startupNanos = new LongAdder();
+
+    // WebDriver commands, keyed by method name (get, findElement, click, ...)
+    private static final Map<String, LongAdder> commands = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < startupBuckets.length; i++) {
+            startupBuckets[i] = new LongAdder();
+        }
+    }
+
+    // Utility class - no instances
+    private SuiteMetrics() {
+    }
+
+    // ========== UPDATES ==========
+
+    /**
+     * A <test> block started - its invocations are now queued
+     * Blocks may start concurrently (see SuiteScheduler), so counts add up and the
+     * capacity keeps the largest value reported
+     *
+     * @param invocations - Number of test invocations in the block (invocationCount included)
+     * @param threadCount - Threads the suite can run tests on, used as the browser pool capacity
+     */
+    public static void testsScheduled(int invocations, int threadCount) {
+        scheduled.add(invocations);
+        poolCapacity.accumulateAndGet(Math.max(1, threadCount), Math::max);
+    }
+
+    /**
+     * Invocations of a started <test> block were dropped before they could start
+     * Called by ImpactSelector, which filters the methods after TestListener counted them,
+     * so the queued gauge still drains to 0 in a selected run
+     *
+     * @param invocations - Number of test invocations that will not run
+     */
+    public static void testsDeselected(int invocations) {
+        scheduled.add(-invocations);
+    }
+
+    public static void testStarted() {
+        started.increment();
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * A test finished
+     *
+     * @param status - "passed", "failed" or "skipped"
+     * @param wasStarted - false for tests skipped before they started
+     */
+    public static void testFinished(String status, boolean wasStarted) {
+        if (wasStarted) {
+            inFlight.decrementAndGet();
+        }
+        if ("passed".equals(status)) {
+            passed.increment();
+        } else if ("failed".equals(status)) {
+            failed.increment();
+        } else {
+            skipped.increment();
+        }
+    }
+
+    /**
+     * A browser session was created
+     *
+     * @param startupNanos - Time it took to start the session
+     */
+    public static void sessionStarted(long startupNanos) {
+        sessionsActive.incrementAndGet();
+        double seconds = startupNanos / 1_000_000_000.0;
+        for (int i = 0; i < STARTUP_BUCKETS.length; i++) {
+            if (seconds <= STARTUP_BUCKETS[i]) {
+                startupBuckets[i].increment();
+            }
+        }
+        startupCount.increment();
+        SuiteMetrics.startupNanos.add(startupNanos);
+    }
+
+    public static void sessionClosed() {
+        sessionsActive.decrementAndGet();
+    }
+
+    public static void commandExecuted(String method) {
+        commands.computeIfAbsent(method, name -> new LongAdder()).increment();
+    }
+
+    // ========== EXPOSITION ==========
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format (version 0.0.4)
+     *
+     * @return Metrics text, ready to be served on /metrics
+     */
+    public static String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        int active = sessionsActive.get();
+        int capacity = poolCapacity.get();
+
+        gauge(out, "testng_tests_in_flight", "Tests currently running.", inFlight.get());
+        gauge(out, "testng_tests_queued", "Tests scheduled but not started yet.",
+                Math.max(0, scheduled.sum() - started.sum()));
+        out.append("# HELP testng_tests_total Finished tests by result.\n");
+        out.append("# TYPE testng_tests_total counter\n");
+        out.append("testng_tests_total{result=\"passed\"} ").append(passed.sum()).append('\n');
+        out.append("testng_tests_total{result=\"failed\"} ").append(failed.sum()).append('\n');
+        out.append("testng_tests_total{result=\"skipped\"} ").append(skipped.sum()).append('\n');
+
+        gauge(out, "browser_sessions_active", "Browser sessions currently open.", active);
+        gauge(out, "browser_pool_capacity", "Browser sessions the suite can run at once (thread-count).", capacity);
+        gauge(out, "browser_pool_utilization", "Open sessions divided by pool capacity.", (double) active / capacity);
+
+        out.append("# HELP browser_session_startup_seconds Time to start a browser session.\n");
+        out.append("# TYPE browser_session_startup_seconds histogram\n");
+        for (int i = 0; i < STARTUP_BUCKETS.length; i++) {
+            out.append("browser_session_startup_seconds_bucket{le=\"").append(STARTUP_BUCKETS[i]).append("\"} ")
+                    .append(startupBuckets[i].sum()).append('\n');
+        }
+        out.append("browser_session_startup_seconds_bucket{le=\"+Inf\"} ").append(startupCount.sum()).append('\n');
+        out.append("browser_session_startup_seconds_sum ").append(startupNanos.sum() / 1_000_000_000.0).append('\n');
+        out.append("browser_session_startup_seconds_count ").append(startupCount.sum()).append('\n');
+
+        out.append("# HELP webdriver_commands_total WebDriver calls by method. Use rate() for the command rate.\n");
+        out.append("# TYPE webdriver_commands_total counter\n");
+        for (Map.Entry<String, LongAdder> command : new TreeMap<>(commands).entrySet()) {
+            out.append("webdriver_commands_total{method=\"").append(command.getKey()).append("\"} ")
+                    .append(command.getValue().sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
@@ -1,24 +1,32 @@
 package framework.pages;
 
+import framework.core.DriverContext;
+import framework.core.TextInput;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 public class GoogleSearchPage {
     private WebDriver driver;
+    // Not @BulkInput - the search box drives suggestions from key events
+    private TextInput input;
 
     @FindBy(name = "q")
-    private WebElement searchBox;
+    WebElement searchBox;
+
+    // Uses the WebDriver bound to the current test invocation
+    public GoogleSearchPage() {
+        this(DriverContext.current());
+    }
 
     public GoogleSearchPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        this.input = TextInput.forPage(this, driver);
+        GoogleSearchPage_Elements.bind(this, driver);
     }
 
     public void searchFor(String query) {
-        searchBox.clear();
-        searchBox.sendKeys(query);
+        input.type(searchBox, query);
         searchBox.submit();
     }
 } 
\ No newline at end of file
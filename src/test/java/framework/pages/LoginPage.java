@@ -1,33 +1,41 @@
 package framework.pages;
 
+import framework.core.DriverContext;
+import framework.core.TextInput;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 // Page Object for the Login page
 public class LoginPage {
     private WebDriver driver;
+    private TextInput input;
 
     @FindBy(id = "username")
-    private WebElement usernameInput;
+    WebElement usernameInput;
 
     @FindBy(id = "password")
-    private WebElement passwordInput;
+    WebElement passwordInput;
 
     @FindBy(id = "loginBtn")
-    private WebElement loginButton;
+    WebElement loginButton;
+
+    // Uses the WebDriver bound to the current test invocation
+    public LoginPage() {
+        this(DriverContext.current());
+    }
 
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        PageFactory.initElements(driver, this);
+        this.input = TextInput.forPage(this, driver);
+        LoginPage_Elements.bind(this, driver);
     }
 
     public void login(String username, String password) {
-        usernameInput.clear();
-        usernameInput.sendKeys(username);
-        passwordInput.clear();
-        passwordInput.sendKeys(password);
+        input.form()
+                .set(usernameInput, username)
+                .set(passwordInput, password)
+                .apply();
         loginButton.click();
     }
 } 
\ No newline at end of file
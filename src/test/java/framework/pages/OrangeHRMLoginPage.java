@@ -1,11 +1,19 @@
 package framework.pages;
 
+import framework.core.BulkInput;
+import framework.core.DriverContext;
+import framework.core.TextInput;
+import framework.fixtures.FixtureServer;
+import framework.perf.PagePerformance;
+import framework.perf.PageTiming;
+import framework.visual.VisualCheck;
+import framework.visual.VisualCheckpoint;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import framework.timing.TimedWait;
 import java.time.Duration;
 
 /**
@@ -14,7 +22,9 @@ import java.time.Duration;
  * Following Page Object Model (POM) design pattern
  * 
  * Page URL: https://opensource-demo.orangehrmlive.com/web/index.php/auth/login
+ * Opted into @BulkInput - the login form has no key handlers, so values are set directly
  */
+@BulkInput
 public class OrangeHRMLoginPage {
     
     // WebDriver instance - passed from test classes
@@ -23,9 +33,18 @@ public class OrangeHRMLoginPage {
     // WebDriverWait for explicit waits
     private WebDriverWait wait;
     
+    // Input layer for the text fields - DIRECT mode because of @BulkInput
+    private TextInput input;
+    
     // Page URL for navigation
     private static final String LOGIN_PAGE_URL = "https://opensource-demo.orangehrmlive.com/web/index.php/auth/login";
     
+    // Key the login page's live-site performance captures are stored under (see performanceKey())
+    public static final String PERFORMANCE_KEY = "orangehrm-login";
+    
+    // Name of the login page's visual baseline
+    public static final String VISUAL_KEY = "orangehrm-login";
+    
     // ========== PAGE ELEMENTS ==========
     
     /**
@@ -33,76 +52,84 @@ public class OrangeHRMLoginPage {
      * Located by name attribute: "username"
      */
     @FindBy(name = "username")
-    private WebElement usernameInput;
+    WebElement usernameInput;
     
     /**
      * Password input field
      * Located by name attribute: "password"
      */
     @FindBy(name = "password")
-    private WebElement passwordInput;
+    WebElement passwordInput;
     
     /**
      * Login button
      * Located by XPath for button with type="submit"
      */
     @FindBy(xpath = "//button[@type='submit']")
-    private WebElement loginButton;
+    WebElement loginButton;
     
     /**
      * OrangeHRM logo/branding
      * Located by XPath for the logo image
      */
     @FindBy(xpath = "//img[@alt='company-branding']")
-    private WebElement companyLogo;
+    WebElement companyLogo;
     
     /**
      * Login form title
      * Located by XPath for the login form heading
      */
     @FindBy(xpath = "//h5[@class='oxd-text oxd-text--h5 orangehrm-login-title']")
-    private WebElement loginTitle;
+    WebElement loginTitle;
     
     /**
      * Error message container
      * Located by XPath for error alerts
      */
     @FindBy(xpath = "//p[@class='oxd-text oxd-text--p oxd-alert-content-text']")
-    private WebElement errorMessage;
+    WebElement errorMessage;
     
     /**
      * Forgot password link
      * Located by XPath for the forgot password link
      */
     @FindBy(xpath = "//p[@class='oxd-text oxd-text--p orangehrm-login-forgot-header']")
-    private WebElement forgotPasswordLink;
+    WebElement forgotPasswordLink;
     
     /**
      * Username field label
      * Located by XPath for the username label
      */
     @FindBy(xpath = "//label[@for='username']")
-    private WebElement usernameLabel;
+    WebElement usernameLabel;
     
     /**
      * Password field label
      * Located by XPath for the password label
      */
     @FindBy(xpath = "//label[@for='password']")
-    private WebElement passwordLabel;
+    WebElement passwordLabel;
     
     // Alternative locators for better reliability
     @FindBy(xpath = "//input[@name='username']")
-    private WebElement usernameInputAlt;
+    WebElement usernameInputAlt;
     
     @FindBy(xpath = "//input[@name='password']")
-    private WebElement passwordInputAlt;
+    WebElement passwordInputAlt;
     
     @FindBy(xpath = "//button[@type='submit'] | //button[contains(@class,'oxd-button')]")
-    private WebElement loginButtonAlt;
+    WebElement loginButtonAlt;
     
     // ========== CONSTRUCTOR ==========
     
+    /**
+     * Constructor - initializes the page object with the WebDriver
+     * bound to the current test invocation (see DriverContext)
+     */
+    public OrangeHRMLoginPage() {
+        this(DriverContext.current());
+    }
+    
     /**
      * Constructor - initializes the page object
      * 
@@ -111,9 +138,10 @@ public class OrangeHRMLoginPage {
     public OrangeHRMLoginPage(WebDriver driver) {
         this.driver = driver;
         // Initialize WebDriverWait with 10 seconds timeout
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        // Initialize PageFactory to find elements
-        PageFactory.initElements(driver, this);
+        this.wait = new TimedWait(driver, Duration.ofSeconds(10));
+        this.input = TextInput.forPage(this, driver);
+        // Bind the @FindBy fields with the binder generated at build time (no reflection)
+        OrangeHRMLoginPage_Elements.bind(this, driver);
     }
     
     // ========== PAGE NAVIGATION METHODS ==========
@@ -124,10 +152,44 @@ public class OrangeHRMLoginPage {
      * @return OrangeHRMLoginPage instance for method chaining
      */
     public OrangeHRMLoginPage navigateToLoginPage() {
-        driver.get(LOGIN_PAGE_URL);
+        // FixtureServer maps the live URL to localhost when fixtures are enabled
+        driver.get(FixtureServer.url(LOGIN_PAGE_URL));
         return this; // Method chaining
     }
     
+    /**
+     * Capture Navigation, Paint and Resource Timing data of the loaded login page
+     * Call right after navigateToLoginPage(); the capture is stored in the performance history
+     * 
+     * @return PageTiming - the captured timings
+     */
+    public PageTiming capturePerformance() {
+        return PagePerformance.capture(driver, performanceKey());
+    }
+    
+    /**
+     * Get the key the login page's performance captures are stored under
+     * Pages served by the local FixtureServer load far faster than the live site, so their
+     * captures get their own history, e.g. "orangehrm-login-replay", and their own budgets
+     * 
+     * @return String - PERFORMANCE_KEY, with the fixture mode appended when fixtures are on
+     */
+    public static String performanceKey() {
+        FixtureServer.Mode mode = FixtureServer.activeMode();
+        return mode == FixtureServer.Mode.OFF ? PERFORMANCE_KEY : PERFORMANCE_KEY + "-" + mode.name().toLowerCase();
+    }
+    
+    /**
+     * Take a visual checkpoint of the login page against its baseline
+     * Covers the whole rendered page - logo, title, form layout - not just single elements;
+     * the comparison runs in the background until assertMatches() is called
+     * 
+     * @return VisualCheck - handle to assert the result with
+     */
+    public VisualCheck visualCheckpoint() {
+        return VisualCheckpoint.capture(driver, VISUAL_KEY);
+    }
+    
     /**
      * Get the current page title
      * 
@@ -211,13 +273,11 @@ public class OrangeHRMLoginPage {
         try {
             // Try primary locator first
             wait.until(ExpectedConditions.elementToBeClickable(usernameInput));
-            usernameInput.clear();
-            usernameInput.sendKeys(username);
+            input.type(usernameInput, username);
         } catch (Exception e) {
             // Try alternative locator if primary fails
             wait.until(ExpectedConditions.elementToBeClickable(usernameInputAlt));
-            usernameInputAlt.clear();
-            usernameInputAlt.sendKeys(username);
+            input.type(usernameInputAlt, username);
         }
         return this; // Method chaining
     }
@@ -232,13 +292,11 @@ public class OrangeHRMLoginPage {
         try {
             // Try primary locator first
             wait.until(ExpectedConditions.elementToBeClickable(passwordInput));
-            passwordInput.clear();
-            passwordInput.sendKeys(password);
+            input.type(passwordInput, password);
         } catch (Exception e) {
             // Try alternative locator if primary fails
             wait.until(ExpectedConditions.elementToBeClickable(passwordInputAlt));
-            passwordInputAlt.clear();
-            passwordInputAlt.sendKeys(password);
+            input.type(passwordInputAlt, password);
         }
         return this; // Method chaining
     }
@@ -320,10 +378,14 @@ public class OrangeHRMLoginPage {
      * @return OrangeHRMLoginPage instance for method chaining
      */
     public OrangeHRMLoginPage login(String username, String password) {
-        // Enter username
-        enterUsername(username);
-        // Enter password
-        enterPassword(password);
+        // Pick primary or alternative locators like enterUsername/enterPassword,
+        // then fill both fields in one go (one script call in DIRECT mode)
+        WebElement usernameField = clickable(usernameInput, usernameInputAlt);
+        WebElement passwordField = clickable(passwordInput, passwordInputAlt);
+        input.form()
+                .set(usernameField, username)
+                .set(passwordField, password)
+                .apply();
         // Click login button
         clickLoginButton();
         return this; // Method chaining
@@ -343,6 +405,23 @@ public class OrangeHRMLoginPage {
                .clickLoginButton();
     }
     
+    /**
+     * Wait for an element using its primary locator, falling back to the alternative one
+     * 
+     * @param primary - element located by the primary locator
+     * @param alternative - the same element located by the alternative locator
+     * @return WebElement - whichever of the two became clickable
+     */
+    private WebElement clickable(WebElement primary, WebElement alternative) {
+        try {
+            // Try primary locator first
+            return wait.until(ExpectedConditions.elementToBeClickable(primary));
+        } catch (Exception e) {
+            // Try alternative locator if primary fails
+            return wait.until(ExpectedConditions.elementToBeClickable(alternative));
+        }
+    }
+    
     // ========== VALIDATION METHODS ==========
     
     /**
@@ -0,0 +1,49 @@
+package framework.parallel;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ResourceLock annotation - Declares a shared resource a test uses, e.g. the OrangeHRM admin account
+ * ResourceLockListener holds the lock from @BeforeMethod (before the browser starts) until
+ * the test method ends:
+ *
+ * - READ locks on the same resource are shared - those tests still run in parallel.
+ * - A WRITE lock is exclusive - conflicting tests run one after another.
+ * - Tests without locks, or with locks on other resources, are not affected.
+ *
+ * Can be repeated, and put on the class to apply to all of its test methods:
+ *
+ *   @ResourceLock(value = "orangehrm-admin", mode = ResourceLock.Mode.WRITE)
+ *   public void testChangeAdminPassword() { ... }
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Repeatable(ResourceLocks.class)
+public @interface ResourceLock {
+
+    /**
+     * Lock modes
+     */
+    enum Mode {
+        READ,
+        WRITE
+    }
+
+    /**
+     * @return Name of the shared resource
+     */
+    String value();
+
+    /**
+     * @return READ to share the resource with other readers, WRITE for exclusive use
+     */
+    Mode mode() default Mode.WRITE;
+}
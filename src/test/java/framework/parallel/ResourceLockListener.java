@@ -0,0 +1,151 @@
+package framework.parallel;
+
+// Import PhaseTimer to report time spent blocked on locks
+import framework.timing.Phase;
+import framework.timing.PhaseTimer;
+// Import TestNG listener classes
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * ResourceLockListener class - Enforces @ResourceLock annotations on test methods
+ * Registered in testng.xml. Every lock the method and its class declare is taken before
+ * the test runs and released after the test method. A test that conflicts with a running
+ * one blocks its worker thread until the lock is free, while tests that don't conflict
+ * keep running in parallel.
+ *
+ * BaseTest takes the locks at the start of @BeforeMethod, through acquire(), so a blocked
+ * test waits before it holds a shared worker slot (SuiteScheduler) or a browser session.
+ * For other test classes the listener takes them right before the test method.
+ *
+ * Locks are always taken in name order, so two tests that need the same locks
+ * can't deadlock.
+ */
+public class ResourceLockListener implements IInvokedMethodListener {
+
+    // Attribute name used to store the held locks on the ITestResult
+    private static final String HELD_ATTRIBUTE = ResourceLockListener.class.getName() + ".held";
+
+    // One lock per resource name, shared by all test classes in the JVM
+    // StampedLock is not owned by a thread, so release works from whichever thread TestNG uses
+    private static final Map<String, StampedLock> LOCKS = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            acquire(testResult);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            release(testResult);
+        }
+    }
+
+    /**
+     * Takes the locks declared for a test invocation, waiting until they are free
+     * Called by BaseTest @BeforeMethod before anything else; no-op if already held
+     *
+     * @param testResult - The ITestResult of the test invocation
+     */
+    public static void acquire(ITestResult testResult) {
+        if (testResult.getAttribute(HELD_ATTRIBUTE) != null) {
+            return;
+        }
+        Map<String, ResourceLock.Mode> wanted = locksOf(testResult);
+        if (wanted.isEmpty()) {
+            return;
+        }
+        Held held = new Held(wanted.size());
+        long waitStart = System.nanoTime();
+        boolean waited = false;
+        // TreeMap iterates in name order - the global lock order
+        for (Map.Entry<String, ResourceLock.Mode> entry : wanted.entrySet()) {
+            StampedLock lock = LOCKS.computeIfAbsent(entry.getKey(), name -> new StampedLock());
+            boolean write = entry.getValue() == ResourceLock.Mode.WRITE;
+            long stamp = write ? lock.tryWriteLock() : lock.tryReadLock();
+            if (stamp == 0) {
+                System.out.println("[LOCK] " + testResult.getMethod().getMethodName() + " waiting for "
+                        + entry.getValue() + " lock on '" + entry.getKey() + "'");
+                stamp = write ? lock.writeLock() : lock.readLock();
+                waited = true;
+            }
+            held.add(lock, stamp);
+        }
+        if (waited) {
+            PhaseTimer.record(testResult, Phase.LOCK, waitStart);
+        }
+        testResult.setAttribute(HELD_ATTRIBUTE, held);
+    }
+
+    /**
+     * Releases the invocation's locks; safe to call when none are held
+     *
+     * @param testResult - The ITestResult of the test invocation
+     */
+    public static void release(ITestResult testResult) {
+        Held held = (Held) testResult.getAttribute(HELD_ATTRIBUTE);
+        if (held != null) {
+            testResult.removeAttribute(HELD_ATTRIBUTE);
+            held.releaseAll();
+        }
+    }
+
+    /**
+     * Collects the locks declared on the test method and its class
+     * A resource named twice is locked once, in WRITE mode if any declaration asks for it
+     */
+    private static Map<String, ResourceLock.Mode> locksOf(ITestResult result) {
+        Map<String, ResourceLock.Mode> locks = new TreeMap<>();
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        if (method != null) {
+            add(locks, method.getAnnotationsByType(ResourceLock.class));
+        }
+        Class<?> testClass = result.getMethod().getRealClass();
+        add(locks, testClass.getAnnotationsByType(ResourceLock.class));
+        return locks;
+    }
+
+    private static void add(Map<String, ResourceLock.Mode> locks, ResourceLock[] annotations) {
+        for (ResourceLock annotation : annotations) {
+            locks.merge(annotation.value(), annotation.mode(),
+                    (a, b) -> a == ResourceLock.Mode.WRITE ? a : b);
+        }
+    }
+
+    /**
+     * Held class - Locks and stamps taken for one test invocation
+     */
+    private static class Held {
+        private final StampedLock[] locks;
+        private final long[] stamps;
+        private int count;
+
+        Held(int capacity) {
+            locks = new StampedLock[capacity];
+            stamps = new long[capacity];
+        }
+
+        void add(StampedLock lock, long stamp) {
+            locks[count] = lock;
+            stamps[count] = stamp;
+            count++;
+        }
+
+        // Releases in reverse order of acquisition
+        void releaseAll() {
+            for (int i = count - 1; i >= 0; i--) {
+                locks[i].unlock(stamps[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package framework.parallel;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ResourceLocks annotation - Container for repeated @ResourceLock annotations
+ * Written by the compiler; use @ResourceLock directly.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ResourceLocks {
+
+    ResourceLock[] value();
+}
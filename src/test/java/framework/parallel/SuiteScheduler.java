@@ -0,0 +1,183 @@
+package framework.parallel;
+
+// Import PhaseTimer to report time spent waiting for a worker slot
+import framework.timing.Phase;
+import framework.timing.PhaseTimer;
+// Import TestNG classes to rewrite the suite's parallel settings
+import org.testng.IAlterSuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SuiteScheduler class - Runs the methods of all <test> blocks from one suite-wide set of workers
+ * Registered in testng.xml. TestNG normally runs the <test> blocks one after another, with
+ * parallel="methods" only inside each block, so workers sit idle while a block's last slow
+ * method finishes. Before the suite starts, this listener rewrites it so that:
+ *
+ * - all <test> blocks start at once (suite parallel="tests"), each keeping its own
+ *   parameters, group filters, parallel mode, and @BeforeTest/@AfterTest around its methods
+ * - each block may use as many threads as the suite's thread-count
+ * - a fair semaphore with thread-count permits limits how many test invocations run at once,
+ *   over all blocks; BaseTest holds a permit from @BeforeMethod (before the browser starts)
+ *   until @AfterMethod has released the browser
+ *
+ * A finished invocation hands its permit to the longest-waiting method of any block, so the
+ * workers stay busy until the last method of the whole suite ends. printReport() shows how
+ * busy they were. Disable with -Dscheduler.shared=false.
+ *
+ * A method that can't get a slot within -Dscheduler.timeout seconds (default 600) fails its
+ * @BeforeMethod, so a leaked slot shows up as failures instead of a hung suite.
+ */
+public class SuiteScheduler implements IAlterSuiteListener {
+
+    // Attribute name used to store the held permit on the ITestResult
+    private static final String HELD_ATTRIBUTE = SuiteScheduler.class.getName() + ".held";
+
+    // Longest wait for a worker slot before the invocation fails
+    private static final long TIMEOUT_SECONDS = Long.getLong("scheduler.timeout", 600);
+
+    // Worker slots of the running suite, null when the scheduler is not active
+    private static volatile Workers workers;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!Boolean.parseBoolean(System.getProperty("scheduler.shared", "true"))) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            List<XmlTest> tests = suite.getTests();
+            XmlSuite.ParallelMode mode = suite.getParallel();
+            // Nothing to share with a single block, or when blocks already run in parallel
+            if (tests.size() < 2 || mode == XmlSuite.ParallelMode.NONE || mode == XmlSuite.ParallelMode.TESTS) {
+                continue;
+            }
+            int threads = suite.getThreadCount();
+            for (XmlTest test : tests) {
+                // Pin the block's own settings before the suite's change, which they inherit from
+                test.setParallel(test.getParallel());
+                test.setThreadCount(test.getThreadCount());
+            }
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(tests.size());
+            workers = new Workers(threads);
+            System.out.println("[SCHEDULER] " + suite.getName() + ": " + tests.size()
+                    + " <test> blocks share " + threads + " workers");
+        }
+    }
+
+    /**
+     * Waits for a free worker slot for a test invocation
+     * Called by BaseTest @BeforeMethod before the browser starts; no-op when not active
+     *
+     * @param result - The ITestResult of the test invocation
+     * @throws IllegalStateException if no slot frees up within -Dscheduler.timeout seconds
+     */
+    public static void acquire(ITestResult result) {
+        Workers current = workers;
+        if (current == null || result.getAttribute(HELD_ATTRIBUTE) != null) {
+            return;
+        }
+        long waitStart = System.nanoTime();
+        if (!current.permits.tryAcquire()) {
+            boolean acquired;
+            try {
+                acquired = current.permits.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a worker slot", e);
+            }
+            PhaseTimer.record(result, Phase.QUEUE, waitStart);
+            if (!acquired) {
+                throw new IllegalStateException("No worker slot free after " + TIMEOUT_SECONDS
+                        + "s - a previous invocation did not release its slot");
+            }
+        }
+        result.setAttribute(HELD_ATTRIBUTE, new Held(current, System.nanoTime()));
+    }
+
+    /**
+     * Frees the invocation's worker slot for the next waiting method of any block
+     * Called by BaseTest @AfterMethod; safe to call when no slot is held
+     *
+     * @param result - The ITestResult of the test invocation
+     */
+    public static void release(ITestResult result) {
+        Held held = (Held) result.getAttribute(HELD_ATTRIBUTE);
+        if (held != null) {
+            result.removeAttribute(HELD_ATTRIBUTE);
+            held.workers.finished(held.start);
+        }
+    }
+
+    /**
+     * @return Number of shared worker slots of the running suite, 0 when the scheduler is not active
+     */
+    public static int workerCount() {
+        Workers current = workers;
+        return current == null ? 0 : current.size;
+    }
+
+    /**
+     * Prints how busy the shared workers were, from the first acquire to the last release
+     * Called once from BaseTest @AfterSuite
+     */
+    public static void printReport() {
+        Workers current = workers;
+        if (current == null || current.first.get() == 0) {
+            return;
+        }
+        long span = current.last.get() - current.first.get();
+        double utilization = span <= 0 ? 0 : 100.0 * current.busyNanos.sum() / ((double) span * current.size);
+        System.out.printf("[SCHEDULER] %d invocations on %d workers in %.2fs, utilization %.1f%%%n",
+                current.invocations.sum(), current.size, span / 1_000_000_000.0, utilization);
+    }
+
+    /**
+     * Workers class - The shared worker slots of one suite, and how long they were busy
+     */
+    private static class Workers {
+        private final int size;
+        private final Semaphore permits;
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder invocations = new LongAdder();
+        // System.nanoTime() of the first acquire and the last release
+        private final AtomicLong first = new AtomicLong();
+        private final AtomicLong last = new AtomicLong();
+
+        Workers(int size) {
+            this.size = size;
+            // Fair, so a freed slot goes to the longest-waiting method, whichever block it is in
+            this.permits = new Semaphore(size, true);
+        }
+
+        void finished(long start) {
+            long end = System.nanoTime();
+            first.compareAndSet(0, start);
+            first.accumulateAndGet(start, Math::min);
+            last.accumulateAndGet(end, Math::max);
+            busyNanos.add(end - start);
+            invocations.increment();
+            permits.release();
+        }
+    }
+
+    /**
+     * Held class - A worker slot held by one test invocation
+     */
+    private static class Held {
+        private final Workers workers;
+        private final long start;
+
+        Held(Workers workers, long start) {
+            this.workers = workers;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package framework.perf;
+
+/**
+ * PageMetric enum - Front-end timings collected by PagePerformance
+ * Times are milliseconds from the start of the navigation; the last three are page totals.
+ */
+public enum PageMetric {
+    // Navigation Timing
+    TTFB("ttfb_ms"),
+    DOM_CONTENT_LOADED("dom_content_loaded_ms"),
+    LOAD("load_ms"),
+    // Paint Timing
+    FIRST_PAINT("first_paint_ms"),
+    FCP("fcp_ms"),
+    LCP("lcp_ms"),
+    // Resource Timing
+    RESOURCE_COUNT("resource_count"),
+    TRANSFER_BYTES("transfer_bytes"),
+    SLOWEST_RESOURCE("slowest_resource_ms");
+
+    // Column name in the history files
+    private final String column;
+
+    PageMetric(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,81 @@
+package framework.perf;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/**
+ * PagePerformance class - Captures Navigation, Paint and Resource Timing data through the driver
+ * Call it right after a navigation, e.g. from a page object after navigateToLoginPage().
+ * Every capture is appended to the PerformanceHistory, so budgets can be asserted over
+ * the last N runs. Works the same against the live site and the local fixture server.
+ */
+public final class PagePerformance {
+
+    // Async script: waits for the load event, then reads the performance timeline
+    // LCP is only available through a buffered PerformanceObserver, so it gets a short moment to report
+    private static final String CAPTURE_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+            + "function collect() {"
+            + "  var nav = performance.getEntriesByType('navigation')[0] || {};"
+            + "  var result = {ttfb: nav.responseStart, domContentLoaded: nav.domContentLoadedEventEnd,"
+            + "    load: nav.loadEventEnd, firstPaint: null, fcp: null, lcp: null,"
+            + "    resourceCount: 0, transferBytes: nav.transferSize || 0, slowestResource: 0};"
+            + "  performance.getEntriesByType('paint').forEach(function (p) {"
+            + "    if (p.name === 'first-paint') { result.firstPaint = p.startTime; }"
+            + "    if (p.name === 'first-contentful-paint') { result.fcp = p.startTime; }"
+            + "  });"
+            + "  performance.getEntriesByType('resource').forEach(function (r) {"
+            + "    result.resourceCount++;"
+            + "    result.transferBytes += r.transferSize || 0;"
+            + "    result.slowestResource = Math.max(result.slowestResource, r.duration);"
+            + "  });"
+            + "  try {"
+            + "    new PerformanceObserver(function (list) {"
+            + "      var entries = list.getEntries();"
+            + "      result.lcp = entries[entries.length - 1].startTime;"
+            + "    }).observe({type: 'largest-contentful-paint', buffered: true});"
+            + "  } catch (e) { }"
+            + "  setTimeout(function () { done(result); }, 100);"
+            + "}"
+            // loadEventEnd is only set once the load handlers have returned
+            + "if (document.readyState === 'complete') { setTimeout(collect, 0); }"
+            + "else { window.addEventListener('load', function () { setTimeout(collect, 0); }); }";
+
+    // Utility class - no instances
+    private PagePerformance() {
+    }
+
+    /**
+     * Captures the timings of the page currently loaded in the driver and stores them
+     *
+     * @param driver - WebDriver that just navigated to the page
+     * @param page - Key the capture is stored under, e.g. "orangehrm-login"
+     * @return The captured timings
+     */
+    @SuppressWarnings("unchecked")
+    public static PageTiming capture(WebDriver driver, String page) {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT);
+        double[] values = new double[PageMetric.values().length];
+        values[PageMetric.TTFB.ordinal()] = number(raw.get("ttfb"));
+        values[PageMetric.DOM_CONTENT_LOADED.ordinal()] = number(raw.get("domContentLoaded"));
+        values[PageMetric.LOAD.ordinal()] = number(raw.get("load"));
+        values[PageMetric.FIRST_PAINT.ordinal()] = number(raw.get("firstPaint"));
+        values[PageMetric.FCP.ordinal()] = number(raw.get("fcp"));
+        values[PageMetric.LCP.ordinal()] = number(raw.get("lcp"));
+        values[PageMetric.RESOURCE_COUNT.ordinal()] = number(raw.get("resourceCount"));
+        values[PageMetric.TRANSFER_BYTES.ordinal()] = number(raw.get("transferBytes"));
+        values[PageMetric.SLOWEST_RESOURCE.ordinal()] = number(raw.get("slowestResource"));
+
+        PageTiming timing = new PageTiming(page, System.currentTimeMillis(), values);
+        PerformanceHistory.append(timing);
+        System.out.println("[PERF] " + timing);
+        return timing;
+    }
+
+    // Scripts return Long or Double for numbers, and null for metrics the browser lacks
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+}
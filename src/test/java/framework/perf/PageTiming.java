@@ -0,0 +1,52 @@
+package framework.perf;
+
+/**
+ * PageTiming class - One performance capture of a page
+ * Metrics the browser did not report (e.g. LCP in Firefox) are NaN.
+ */
+public class PageTiming {
+
+    private final String page;
+    private final long timestamp;
+    private final double[] values;
+
+    /**
+     * @param page - Page key the capture is stored under, e.g. "orangehrm-login"
+     * @param timestamp - Capture time in epoch milliseconds
+     * @param values - One value per PageMetric, indexed by ordinal
+     */
+    public PageTiming(String page, long timestamp, double[] values) {
+        this.page = page;
+        this.timestamp = timestamp;
+        this.values = values;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @param metric - The metric to read
+     * @return Value of the metric, or NaN if the browser did not report it
+     */
+    public double get(PageMetric metric) {
+        return values[metric.ordinal()];
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(page).append(':');
+        for (PageMetric metric : PageMetric.values()) {
+            text.append(' ').append(metric.getColumn()).append('=').append(String.format("%.0f", get(metric)));
+        }
+        return text.toString();
+    }
+}
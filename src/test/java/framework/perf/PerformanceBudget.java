@@ -0,0 +1,81 @@
+package framework.perf;
+
+import org.testng.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PerformanceBudget class - Asserts a percentile of a page metric over the last N runs
+ * Example: "login page LCP p95 < 2s over the last 20 runs"
+ *
+ *   PerformanceBudget.forPage("orangehrm-login")
+ *           .metric(PageMetric.LCP)
+ *           .percentile(95)
+ *           .overLastRuns(20)
+ *           .assertBelow(Duration.ofSeconds(2));
+ */
+public class PerformanceBudget {
+
+    private final String page;
+    private PageMetric metric = PageMetric.LOAD;
+    private int percentile = 95;
+    private int lastRuns = 20;
+
+    private PerformanceBudget(String page) {
+        this.page = page;
+    }
+
+    /**
+     * @param page - Page key the captures were stored under
+     * @return Budget for the page, defaults to LOAD p95 over the last 20 runs
+     */
+    public static PerformanceBudget forPage(String page) {
+        return new PerformanceBudget(page);
+    }
+
+    public PerformanceBudget metric(PageMetric metric) {
+        this.metric = metric;
+        return this;
+    }
+
+    public PerformanceBudget percentile(int percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+
+    public PerformanceBudget overLastRuns(int lastRuns) {
+        this.lastRuns = lastRuns;
+        return this;
+    }
+
+    /**
+     * Fails the test if the percentile of a time metric is not below the budget
+     *
+     * @param budget - Maximum allowed value
+     */
+    public void assertBelow(Duration budget) {
+        assertBelow((double) budget.toMillis());
+    }
+
+    /**
+     * Fails the test if the percentile is not below the budget
+     * Use this overload for count and byte metrics
+     *
+     * @param budget - Maximum allowed value, in the metric's unit
+     */
+    public void assertBelow(double budget) {
+        List<Double> values = new ArrayList<>(PerformanceHistory.lastValues(page, metric, lastRuns));
+        Assert.assertFalse(values.isEmpty(), "No " + metric + " captures stored for page " + page);
+        Collections.sort(values);
+        // Nearest-rank percentile
+        int index = (int) Math.ceil(percentile / 100.0 * values.size()) - 1;
+        double actual = values.get(Math.max(0, index));
+        String description = page + " " + metric + " p" + percentile + " over the last " + values.size() + " runs";
+        System.out.println("[PERF] " + description + " = " + String.format("%.0f", actual) + " (budget " + String.format("%.0f", budget) + ")");
+        Assert.assertTrue(actual < budget,
+                description + " is " + String.format("%.0f", actual) + ", budget is " + String.format("%.0f", budget));
+    }
+}
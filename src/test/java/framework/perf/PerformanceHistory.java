@@ -0,0 +1,97 @@
+package framework.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PerformanceHistory class - Stores page timings across runs, one CSV file per page
+ * Files live in -Dperf.dir (default perf-history/), outside target/ so "mvn clean"
+ * keeps the history. Each line is one capture: timestamp followed by the PageMetric columns.
+ */
+public final class PerformanceHistory {
+
+    // Utility class - no instances
+    private PerformanceHistory() {
+    }
+
+    /**
+     * Appends a capture to the page's history file
+     * Synchronized because parallel tests may capture the same page at once
+     *
+     * @param timing - The capture to store
+     */
+    public static synchronized void append(PageTiming timing) {
+        Path file = fileFor(timing.getPage());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            StringBuilder line = new StringBuilder();
+            if (!Files.exists(file)) {
+                line.append("timestamp");
+                for (PageMetric metric : PageMetric.values()) {
+                    line.append(',').append(metric.getColumn());
+                }
+                line.append('\n');
+            }
+            line.append(timing.getTimestamp());
+            for (double value : timing.values()) {
+                // Metrics the browser did not report are left empty
+                line.append(',').append(Double.isNaN(value) ? "" : String.valueOf(value));
+            }
+            line.append('\n');
+            Files.write(file, line.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store performance capture in " + file, e);
+        }
+    }
+
+    /**
+     * Reads the values of one metric from the most recent captures of a page
+     * Captures where the metric was not reported are skipped
+     *
+     * @param page - Page key, e.g. "orangehrm-login"
+     * @param metric - The metric to read
+     * @param lastRuns - How many of the most recent captures to look at
+     * @return Metric values, oldest first
+     */
+    public static synchronized List<Double> lastValues(String page, PageMetric metric, int lastRuns) {
+        Path file = fileFor(page);
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            List<Double> values = new ArrayList<>();
+            // Line 0 is the header - look the column up by name so older files stay readable
+            int column = Arrays.asList(lines.get(0).split(",")).indexOf(metric.getColumn());
+            if (column < 0) {
+                return values;
+            }
+            for (int i = Math.max(1, lines.size() - lastRuns); i < lines.size(); i++) {
+                String[] columns = lines.get(i).split(",", -1);
+                String value = column < columns.length ? columns[column] : "";
+                if (!value.isEmpty()) {
+                    values.add(Double.parseDouble(value));
+                }
+            }
+            return values;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance history " + file, e);
+        }
+    }
+
+    private static Path fileFor(String page) {
+        return Paths.get(System.getProperty("perf.dir", "perf-history"), page + ".csv");
+    }
+}
@@ -0,0 +1,108 @@
+package framework.report;
+
+// Import TestNG listener classes
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StreamingReporter class - Writes every test result to disk the moment it is known
+ * Registered in testng.xml. For each suite it writes, into -Dreport.dir
+ * (default target/streaming-reports):
+ *
+ * - TEST-<suite>.xml - JUnit XML, readable by CI servers
+ * - <suite>.jsonl - one JSON object per result, easy to tail or grep during the run
+ *
+ * Both files are flushed after every result and the reporter keeps only counters in
+ * memory, so it costs the same for ten tests or ten thousand data-driven invocations.
+ * If the JVM dies mid-run the JSON lines written so far are complete; a shutdown hook
+ * closes the XML on a normal exit, even when the suite did not finish.
+ */
+public class StreamingReporter implements ITestListener, ISuiteListener {
+
+    // Output directory for the report files
+    private static final Path REPORT_DIR = Paths.get(System.getProperty("report.dir", "target/streaming-reports"));
+
+    // Open report files, keyed by suite name
+    private static final Map<String, SuiteStream> STREAMS = new ConcurrentHashMap<>();
+
+    static {
+        // Closes the XML of suites that were still running when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (SuiteStream stream : new ArrayList<>(STREAMS.values())) {
+                closeQuietly(stream);
+            }
+        }, "streaming-reporter-shutdown"));
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        try {
+            STREAMS.put(suite.getName(), SuiteStream.open(REPORT_DIR, suite.getName()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open streaming reports in " + REPORT_DIR, e);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        SuiteStream stream = STREAMS.remove(suite.getName());
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not close streaming reports in " + REPORT_DIR, e);
+            }
+            System.out.println("[REPORT] " + stream.summary());
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        write(result, SuiteStream.PASSED);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        write(result, SuiteStream.FAILED);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        write(result, SuiteStream.SKIPPED);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        write(result, SuiteStream.PASSED);
+    }
+
+    private static void write(ITestResult result, String status) {
+        SuiteStream stream = STREAMS.get(result.getTestContext().getSuite().getName());
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.write(result, status);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write result of " + result.getName(), e);
+        }
+    }
+
+    private static void closeQuietly(SuiteStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            System.err.println("[REPORT] Could not close streaming reports: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package framework.report;
+
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * SuiteStream class - The JUnit XML and JSON-lines report files of one running suite
+ * Results are appended and flushed one at a time; only the counters stay in memory.
+ *
+ * JUnit XML wants the totals as attributes of the opening <testsuite> element, which
+ * is written before any result is known. The counters are therefore written as
+ * fixed-width, zero-padded numbers and overwritten in place when the suite closes.
+ */
+class SuiteStream {
+
+    // Result statuses, as written to the JSON lines
+    static final String PASSED = "passed";
+    static final String FAILED = "failed";
+    static final String SKIPPED = "skipped";
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+
+    private final String suiteName;
+    private final Path xmlFile;
+    private final Path jsonFile;
+    private final Writer xml;
+    private final Writer json;
+    private final String timestamp;
+    private final long startMillis;
+
+    // Aggregate counters - the only per-result state kept in memory
+    private int tests;
+    private int failures;
+    private int skipped;
+    private boolean closed;
+
+    private SuiteStream(String suiteName, Path xmlFile, Path jsonFile) throws IOException {
+        this.suiteName = suiteName;
+        this.xmlFile = xmlFile;
+        this.jsonFile = jsonFile;
+        this.startMillis = System.currentTimeMillis();
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        this.timestamp = format.format(new Date(startMillis));
+        this.xml = Files.newBufferedWriter(xmlFile, StandardCharsets.UTF_8);
+        this.json = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates the report files of a suite and writes the XML header
+     */
+    static SuiteStream open(Path dir, String suiteName) throws IOException {
+        Files.createDirectories(dir);
+        String fileName = suiteName.replaceAll("[^A-Za-z0-9._-]", "_");
+        SuiteStream stream = new SuiteStream(suiteName,
+                dir.resolve("TEST-" + fileName + ".xml"), dir.resolve(fileName + ".jsonl"));
+        stream.xml.write(XML_DECLARATION);
+        stream.xml.write(stream.header());
+        stream.xml.flush();
+        return stream;
+    }
+
+    /**
+     * Appends one result to both files and flushes them
+     * Synchronized because parallel tests finish concurrently
+     */
+    synchronized void write(ITestResult result, String status) throws IOException {
+        if (closed) {
+            return;
+        }
+        tests++;
+        if (FAILED.equals(status)) {
+            failures++;
+        } else if (SKIPPED.equals(status)) {
+            skipped++;
+        }
+        long millis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        String className = result.getTestClass().getName();
+        String name = testName(result);
+        Throwable throwable = result.getThrowable();
+
+        xml.write("  <testcase classname=\"" + xmlEscape(className) + "\" name=\"" + xmlEscape(name)
+                + "\" time=\"" + seconds(millis) + "\"");
+        if (PASSED.equals(status)) {
+            xml.write("/>\n");
+        } else {
+            xml.write(">\n");
+            if (SKIPPED.equals(status)) {
+                xml.write("    <skipped/>\n");
+            } else {
+                xml.write("    <failure message=\"" + xmlEscape(message(throwable)) + "\" type=\""
+                        + (throwable == null ? "" : throwable.getClass().getName()) + "\">"
+                        + xmlEscape(stackTrace(throwable)) + "</failure>\n");
+            }
+            xml.write("  </testcase>\n");
+        }
+        xml.flush();
+
+        json.write("{\"suite\":\"" + jsonEscape(suiteName)
+                + "\",\"test\":\"" + jsonEscape(result.getTestContext().getName())
+                + "\",\"class\":\"" + jsonEscape(className)
+                + "\",\"name\":\"" + jsonEscape(name)
+                + "\",\"status\":\"" + status
+                + "\",\"start\":" + result.getStartMillis()
+                + ",\"durationMs\":" + millis
+                + ",\"thread\":\"" + jsonEscape(Thread.currentThread().getName()) + "\"");
+        if (throwable != null) {
+            json.write(",\"error\":\"" + jsonEscape(throwable.getClass().getName() + ": " + message(throwable)) + "\"");
+        }
+        json.write("}\n");
+        json.flush();
+    }
+
+    /**
+     * Ends the XML document and fills in the final counters
+     * Safe to call more than once - from onFinish and from the shutdown hook
+     */
+    synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            xml.write("</testsuite>\n");
+        } finally {
+            xml.close();
+            json.close();
+        }
+        // The header has the same length for any counter values, so it can be overwritten in place
+        try (RandomAccessFile file = new RandomAccessFile(xmlFile.toFile(), "rw")) {
+            file.seek(XML_DECLARATION.getBytes(StandardCharsets.UTF_8).length);
+            file.write(header().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return One-line summary of the suite, for logging
+     */
+    synchronized String summary() {
+        return suiteName + ": " + tests + " results (" + failures + " failed, " + skipped + " skipped) streamed to "
+                + xmlFile.toAbsolutePath() + " and " + jsonFile.getFileName();
+    }
+
+    // ========== HELPERS ==========
+
+    // Opening <testsuite> element with fixed-width counters
+    private String header() {
+        return "<testsuite name=\"" + xmlEscape(suiteName) + "\""
+                + " tests=\"" + String.format(Locale.ROOT, "%010d", tests) + "\""
+                + " failures=\"" + String.format(Locale.ROOT, "%010d", failures) + "\""
+                + " errors=\"0\""
+                + " skipped=\"" + String.format(Locale.ROOT, "%010d", skipped) + "\""
+                + " time=\"" + String.format(Locale.ROOT, "%014.3f", (System.currentTimeMillis() - startMillis) / 1000.0) + "\""
+                + " timestamp=\"" + timestamp + "\">\n";
+    }
+
+    // Data-driven invocations get their parameters appended, so each one has a distinct name
+    private static String testName(ITestResult result) {
+        StringBuilder name = new StringBuilder(result.getMethod().getMethodName());
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            name.append('[');
+            for (int i = 0; i < parameters.length; i++) {
+                if (i > 0) {
+                    name.append(", ");
+                }
+                name.append(parameters[i]);
+            }
+            name.append(']');
+        }
+        return name.toString();
+    }
+
+    private static String message(Throwable throwable) {
+        return throwable == null || throwable.getMessage() == null ? "" : throwable.getMessage();
+    }
+
+    private static String stackTrace(Throwable throwable) {
+        if (throwable == null) {
+            return "";
+        }
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String xmlEscape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    // Control characters other than tab and newlines are not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String jsonEscape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
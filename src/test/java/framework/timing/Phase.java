@@ -0,0 +1,28 @@
+package framework.timing;
+
+/**
+ * Phase enum - The parts a test invocation's wall time is split into
+ * WAIT and SLEEP are measured inside the test body; BODY is what remains of it
+ * LOCK is the time @BeforeMethod waited for @ResourceLock locks (see ResourceLockListener),
+ * QUEUE the time it then waited for a shared worker slot (see SuiteScheduler)
+ */
+public enum Phase {
+    LOCK("resource lock wait"),
+    QUEUE("worker slot wait"),
+    DRIVER_ACQUIRE("driver acquire"),
+    BODY("test body"),
+    WAIT("WebDriverWait.until"),
+    SLEEP("Thread.sleep"),
+    DRIVER_RELEASE("driver release");
+
+    // Label used in the timing report
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,231 @@
+package framework.timing;
+
+// Import the Tracer to put phases on the timeline export
+import framework.trace.Tracer;
+// Import TestNG classes to attach timings to the test invocation
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PhaseTimer class - Splits each test invocation's wall time into lifecycle phases
+ * BaseTest records driver acquire/release, TimedWait and TimedSleep record time blocked
+ * in waits and sleeps, ResourceLockListener records time blocked on resource locks, SuiteScheduler
+ * records time waiting for a shared worker slot, and the rest of the test body is reported as BODY.
+ * Finished invocations are added to per-class, per-group and suite totals,
+ * which printReport() shows at the end of the suite.
+ */
+public final class PhaseTimer {
+
+    // Attribute name used to store the per-invocation record on the ITestResult
+    private static final String RECORD_ATTRIBUTE = PhaseTimer.class.getName() + ".record";
+
+    // Aggregated totals - keyed by class name, by group name, and one entry for the suite
+    private static final Map<String, Totals> BY_CLASS = new ConcurrentHashMap<>();
+    private static final Map<String, Totals> BY_GROUP = new ConcurrentHashMap<>();
+    private static final Totals SUITE = new Totals();
+
+    // Utility class - no instances
+    private PhaseTimer() {
+    }
+
+    /**
+     * Adds the time since startNanos to a phase of the given test invocation
+     * The span is also sent to the Tracer for the timeline export
+     *
+     * @param result - The ITestResult of the test invocation
+     * @param phase - The phase the time was spent in
+     * @param startNanos - System.nanoTime() when the phase started
+     */
+    public static void record(ITestResult result, Phase phase, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        Record record = recordOf(result);
+        if (record != null) {
+            record.nanos[phase.ordinal()] += nanos;
+        }
+        Tracer.complete(phase == Phase.BODY || phase == Phase.DRIVER_ACQUIRE || phase == Phase.DRIVER_RELEASE
+                        ? Tracer.PHASE : Tracer.WAIT,
+                phase.getLabel(), startNanos);
+    }
+
+    /**
+     * Adds the time since startNanos to a phase of the test invocation running on this thread
+     * Used by TimedWait and TimedSleep, which don't have the ITestResult at hand
+     *
+     * @param phase - The phase the time was spent in
+     * @param startNanos - System.nanoTime() when the phase started
+     */
+    public static void record(Phase phase, long startNanos) {
+        record(Reporter.getCurrentTestResult(), phase, startNanos);
+    }
+
+    /**
+     * Marks the end of @BeforeMethod - the test body starts now
+     *
+     * @param result - The ITestResult of the test invocation
+     */
+    public static void bodyStarted(ITestResult result) {
+        Record record = recordOf(result);
+        if (record != null) {
+            record.bodyStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the start of @AfterMethod - the test body is over
+     * BODY gets the elapsed time minus what was already spent in waits and sleeps
+     *
+     * @param result - The ITestResult of the test invocation
+     */
+    public static void bodyFinished(ITestResult result) {
+        Record record = recordOf(result);
+        if (record != null && record.bodyStart != 0) {
+            long elapsed = System.nanoTime() - record.bodyStart;
+            // Lock waits happen in @BeforeMethod, before the body started
+            long blocked = record.nanos[Phase.WAIT.ordinal()] + record.nanos[Phase.SLEEP.ordinal()];
+            record.nanos[Phase.BODY.ordinal()] += Math.max(0, elapsed - blocked);
+            // The traced span covers the whole body; waits and sleeps show up nested inside it
+            Tracer.complete(Tracer.PHASE, Phase.BODY.getLabel(), record.bodyStart);
+            record.bodyStart = 0;
+        }
+    }
+
+    /**
+     * Adds the invocation's phases to the class, group and suite totals
+     * Called once at the end of @AfterMethod, after the driver was released
+     *
+     * @param result - The ITestResult of the test invocation
+     * @return Summary line for the invocation, for logging
+     */
+    public static String finish(ITestResult result) {
+        Record record = recordOf(result);
+        if (record == null) {
+            return "";
+        }
+        result.removeAttribute(RECORD_ATTRIBUTE);
+        SUITE.add(record.nanos);
+        BY_CLASS.computeIfAbsent(result.getTestClass().getName(), name -> new Totals()).add(record.nanos);
+        for (String group : result.getMethod().getGroups()) {
+            BY_GROUP.computeIfAbsent(group, name -> new Totals()).add(record.nanos);
+        }
+        return result.getMethod().getMethodName() + ": " + format(record.nanos);
+    }
+
+    /**
+     * Prints where the suite's total time went, overall and per class and group
+     * Called once from BaseTest @AfterSuite
+     */
+    public static void printReport() {
+        long[] suite = SUITE.snapshot();
+        long total = 0;
+        for (long nanos : suite) {
+            total += nanos;
+        }
+        System.out.println("[TIMING] ===== Suite time by phase (" + SUITE.count.sum() + " tests) =====");
+        for (Phase phase : Phase.values()) {
+            long nanos = suite[phase.ordinal()];
+            System.out.printf("[TIMING] %-22s %9.2fs %6.1f%%%n", phase.getLabel(), seconds(nanos),
+                    total == 0 ? 0.0 : 100.0 * nanos / total);
+        }
+        printTotals("By class", BY_CLASS);
+        printTotals("By group", BY_GROUP);
+    }
+
+    /**
+     * Clears the class, group and suite totals
+     * Called from BaseTest @BeforeSuite, so a long-lived process reports each run on its own
+     */
+    public static void reset() {
+        BY_CLASS.clear();
+        BY_GROUP.clear();
+        SUITE.reset();
+    }
+
+    // ========== HELPERS ==========
+
+    // Returns the invocation's record, creating it on first use
+    private static Record recordOf(ITestResult result) {
+        if (result == null) {
+            return null;
+        }
+        Record record = (Record) result.getAttribute(RECORD_ATTRIBUTE);
+        if (record == null) {
+            record = new Record();
+            result.setAttribute(RECORD_ATTRIBUTE, record);
+        }
+        return record;
+    }
+
+    private static void printTotals(String title, Map<String, Totals> totals) {
+        System.out.println("[TIMING] ----- " + title + " -----");
+        // TreeMap keeps the report in a stable order
+        for (Map.Entry<String, Totals> entry : new TreeMap<>(totals).entrySet()) {
+            System.out.println("[TIMING] " + entry.getKey() + " (" + entry.getValue().count.sum() + " tests): "
+                    + format(entry.getValue().snapshot()));
+        }
+    }
+
+    private static String format(long[] nanos) {
+        StringBuilder line = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (line.length() > 0) {
+                line.append(" | ");
+            }
+            line.append(phase.getLabel()).append(' ').append(String.format("%.2fs", seconds(nanos[phase.ordinal()])));
+        }
+        return line.toString();
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    /**
+     * Record class - Phase times of one test invocation
+     * Only touched by the thread running the invocation, so plain fields are enough
+     */
+    private static class Record {
+        private final long[] nanos = new long[Phase.values().length];
+        private long bodyStart;
+    }
+
+    /**
+     * Totals class - Phase times summed over many invocations, updated concurrently
+     */
+    private static class Totals {
+        private final LongAdder[] nanos = new LongAdder[Phase.values().length];
+        private final LongAdder count = new LongAdder();
+
+        Totals() {
+            for (int i = 0; i < nanos.length; i++) {
+                nanos[i] = new LongAdder();
+            }
+        }
+
+        void add(long[] phases) {
+            for (int i = 0; i < phases.length; i++) {
+                nanos[i].add(phases[i]);
+            }
+            count.increment();
+        }
+
+        void reset() {
+            for (LongAdder phase : nanos) {
+                phase.reset();
+            }
+            count.reset();
+        }
+
+        long[] snapshot() {
+            long[] result = new long[nanos.length];
+            for (int i = 0; i < nanos.length; i++) {
+                result[i] = nanos[i].sum();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package framework.timing;
+
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TimedSleep class - Thread.sleep() that records the time it blocks the test
+ * The slept time is added to the SLEEP phase of the running test invocation (see PhaseTimer),
+ * and reported to the WaitProfiler when -Dwait.profile=true is set.
+ * Actions chains that hold the browser with pause() get their pauses timed the same way with perform().
+ */
+public final class TimedSleep {
+
+    // Utility class - no instances
+    private TimedSleep() {
+    }
+
+    /**
+     * Sleeps like Thread.sleep(), timing the call
+     *
+     * @param millis - How long to sleep in milliseconds
+     * @throws InterruptedException if the thread is interrupted while sleeping
+     */
+    public static void sleep(long millis) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            PhaseTimer.record(Phase.SLEEP, start);
+            WaitProfiler.recordSleep(start);
+        }
+    }
+
+    /**
+     * Performs an Actions chain that contains pause() actions, timing the pauses as a sleep
+     * The browser runs the pauses, so they would otherwise be invisible to PhaseTimer
+     * and WaitProfiler. Only the pause() durations are recorded as SLEEP; the moves and
+     * key presses in the chain stay in BODY
+     *
+     * @param actions - The chain to perform, e.g. a hover followed by pause(Duration.ofSeconds(6))
+     */
+    public static void perform(Actions actions) {
+        long paused = TimeUnit.MILLISECONDS.toNanos(pauseMillis(actions));
+        long start = System.nanoTime();
+        try {
+            actions.perform();
+        } finally {
+            // The pauses are spread over the chain; recorded as one span ending with it
+            long sleepStart = System.nanoTime() - Math.min(paused, System.nanoTime() - start);
+            PhaseTimer.record(Phase.SLEEP, sleepStart);
+            WaitProfiler.recordSleep(sleepStart);
+        }
+    }
+
+    // Sums the pauses of a chain; input sources run in lockstep, so each tick lasts its longest pause
+    @SuppressWarnings("unchecked")
+    private static long pauseMillis(Actions actions) {
+        List<List<Map<String, Object>>> sources = new ArrayList<>();
+        int ticks = 0;
+        for (Sequence sequence : actions.getSequences()) {
+            List<Map<String, Object>> tickActions = (List<Map<String, Object>>) sequence.encode().get("actions");
+            sources.add(tickActions);
+            ticks = Math.max(ticks, tickActions.size());
+        }
+        long total = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            long longest = 0;
+            for (List<Map<String, Object>> tickActions : sources) {
+                if (tick < tickActions.size() && "pause".equals(tickActions.get(tick).get("type"))
+                        && tickActions.get(tick).get("duration") instanceof Number) {
+                    longest = Math.max(longest, ((Number) tickActions.get(tick).get("duration")).longValue());
+                }
+            }
+            total += longest;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,46 @@
+package framework.timing;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * TimedWait class - WebDriverWait that records the time it blocks the test
+ * Drop-in replacement for WebDriverWait: the time spent in until() is added to the
+ * WAIT phase of the running test invocation (see PhaseTimer), and reported to the
+ * WaitProfiler when -Dwait.profile=true is set.
+ */
+public class TimedWait extends WebDriverWait {
+
+    // The configured timeout, kept for the WaitProfiler
+    private final Duration timeout;
+
+    /**
+     * @param driver - The WebDriver to wait on
+     * @param timeout - How long to wait before giving up
+     */
+    public TimedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Waits for the condition like WebDriverWait.until(), timing the call
+     * The time is recorded whether the condition succeeds or times out
+     */
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long start = System.nanoTime();
+        boolean satisfied = false;
+        try {
+            V value = super.until(isTrue);
+            satisfied = true;
+            return value;
+        } finally {
+            PhaseTimer.record(Phase.WAIT, start);
+            WaitProfiler.recordWait(timeout, start, satisfied);
+        }
+    }
+}
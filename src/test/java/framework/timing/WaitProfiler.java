@@ -0,0 +1,190 @@
+package framework.timing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WaitProfiler class - Measures how much of each wait and sleep was actually needed
+ * Enabled with -Dwait.profile=true. TimedWait and TimedSleep report every call, keyed by
+ * the line of test or page object code that made it (the call site).
+ *
+ * - A wait that succeeds needed the time it took; nothing of it is counted as wasted.
+ * - A wait that times out (or fails) wasted all of it - the condition never became true.
+ * - A sleep is flagged as a pure sleep; all of it is counted as wasted, because nothing
+ *   tells us when the page was actually ready.
+ *
+ * printReport() ranks call sites by wasted seconds and suggests tighter timeouts
+ * from the observed percentiles of successful waits.
+ */
+public final class WaitProfiler {
+
+    // true when -Dwait.profile=true is set
+    private static final boolean ENABLED = Boolean.getBoolean("wait.profile");
+
+    // Suggested timeout = observed p99 times this headroom, rounded up to whole seconds
+    private static final double HEADROOM = 1.5;
+
+    // Statistics per call site, e.g. "tests.TestAction.testAction(TestAction.java:24)"
+    private static final Map<String, CallSite> CALL_SITES = new ConcurrentHashMap<>();
+
+    // Utility class - no instances
+    private WaitProfiler() {
+    }
+
+    /**
+     * @return true if -Dwait.profile=true is set
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records one WebDriverWait.until() call
+     *
+     * @param timeout - The timeout the wait was configured with
+     * @param startNanos - System.nanoTime() when until() was called
+     * @param satisfied - true if the condition became true before the timeout
+     */
+    public static void recordWait(Duration timeout, long startNanos, boolean satisfied) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        CallSite site = CALL_SITES.computeIfAbsent(callSite(), name -> new CallSite(name, false));
+        site.record(elapsed, satisfied ? 0 : elapsed, satisfied, timeout.toNanos());
+    }
+
+    /**
+     * Records one Thread.sleep() call
+     *
+     * @param startNanos - System.nanoTime() when the sleep started
+     */
+    public static void recordSleep(long startNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        CallSite site = CALL_SITES.computeIfAbsent(callSite(), name -> new CallSite(name, true));
+        site.record(elapsed, elapsed, false, 0);
+    }
+
+    /**
+     * Forgets the call sites of previous runs
+     * Called from BaseTest @BeforeSuite, so a long-lived process reports each run on its own
+     */
+    public static void reset() {
+        CALL_SITES.clear();
+    }
+
+    /**
+     * Prints call sites ranked by wasted time, with suggested timeouts
+     * Called once from BaseTest @AfterSuite
+     */
+    public static void printReport() {
+        if (!ENABLED) {
+            return;
+        }
+        List<CallSite> sites = new ArrayList<>(CALL_SITES.values());
+        sites.sort((a, b) -> Long.compare(b.wastedNanos(), a.wastedNanos()));
+        System.out.println("[WAIT-PROFILE] ===== Waits and sleeps ranked by wasted time =====");
+        int rank = 1;
+        for (CallSite site : sites) {
+            System.out.println("[WAIT-PROFILE] #" + rank++ + " " + site.name);
+            System.out.println("[WAIT-PROFILE]     " + site.describe());
+        }
+    }
+
+    // Finds the first stack frame outside the timing helpers and the Selenium/JDK code
+    private static String callSite() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (!className.startsWith("framework.timing.") && !className.startsWith("org.openqa.")
+                    && !className.startsWith("java.") && !className.startsWith("jdk.")
+                    && !className.startsWith("sun.")) {
+                return frame.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    private static String seconds(long nanos) {
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * CallSite class - Statistics of the waits or sleeps made from one line of code
+     */
+    private static class CallSite {
+        private final String name;
+        private final boolean sleep;
+
+        private int calls;
+        private int failures;
+        private long totalNanos;
+        private long wastedNanos;
+        private long timeoutNanos;
+        // Elapsed time of the successful waits, for percentiles
+        private long[] satisfiedNanos = new long[16];
+        private int satisfiedCount;
+
+        CallSite(String name, boolean sleep) {
+            this.name = name;
+            this.sleep = sleep;
+        }
+
+        synchronized void record(long elapsed, long wasted, boolean satisfied, long timeout) {
+            calls++;
+            totalNanos += elapsed;
+            wastedNanos += wasted;
+            timeoutNanos = Math.max(timeoutNanos, timeout);
+            if (satisfied) {
+                if (satisfiedCount == satisfiedNanos.length) {
+                    satisfiedNanos = Arrays.copyOf(satisfiedNanos, satisfiedCount * 2);
+                }
+                satisfiedNanos[satisfiedCount++] = elapsed;
+            } else if (!sleep) {
+                failures++;
+            }
+        }
+
+        synchronized long wastedNanos() {
+            return wastedNanos;
+        }
+
+        synchronized String describe() {
+            if (sleep) {
+                return "SLEEP x" + calls + ": wasted " + seconds(wastedNanos)
+                        + " (pure sleep - replace with an explicit wait on the condition it waits for)";
+            }
+            StringBuilder line = new StringBuilder("WAIT x" + calls + " timeout " + seconds(timeoutNanos)
+                    + ": " + failures + " timed out, wasted " + seconds(wastedNanos) + " of " + seconds(totalNanos));
+            if (satisfiedCount > 0) {
+                long[] sorted = Arrays.copyOf(satisfiedNanos, satisfiedCount);
+                Arrays.sort(sorted);
+                long p50 = percentile(sorted, 50);
+                long p95 = percentile(sorted, 95);
+                long p99 = percentile(sorted, 99);
+                line.append(", needed p50 ").append(seconds(p50))
+                        .append(" p95 ").append(seconds(p95))
+                        .append(" p99 ").append(seconds(p99));
+                long suggested = (long) Math.ceil(p99 * HEADROOM / 1_000_000_000.0);
+                suggested = Math.max(1, suggested);
+                if (suggested * 1_000_000_000L < timeoutNanos) {
+                    line.append(" -> suggested timeout ").append(suggested).append("s (from ")
+                            .append(satisfiedCount).append(" successful waits)");
+                }
+            }
+            return line.toString();
+        }
+
+        // Nearest-rank percentile of a sorted array
+        private static long percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
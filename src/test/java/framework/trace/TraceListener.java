@@ -0,0 +1,29 @@
+package framework.trace;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * TraceListener class - Records a span for every WebDriver call
+ * Registered with DriverFactory when tracing is enabled.
+ */
+public class TraceListener implements WebDriverListener {
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Tracer.push();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Tracer.pop(Tracer.COMMAND, method.getName());
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        // afterAnyCall is not called when the command throws
+        Tracer.pop(Tracer.COMMAND, method.getName());
+    }
+}
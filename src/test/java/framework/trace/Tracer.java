@@ -0,0 +1,279 @@
+package framework.trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Tracer class - Records timed spans on every thread and writes them as a Chrome trace
+ * Enabled with -Dtrace.file=<path>, e.g. -Dtrace.file=target/trace.json.
+ * Open the file in chrome://tracing or https://ui.perfetto.dev to see how the parallel
+ * workers overlap: idle threads, serialization points and slow setup stand out at a glance.
+ *
+ * Recording is allocation-light: each thread appends to its own primitive arrays,
+ * and span names are interned to int ids, so a span costs a few array stores.
+ * Spans are "complete" events (start + duration), so they need no strict nesting.
+ */
+public final class Tracer {
+
+    // Span categories, shown as "cat" in the trace viewer
+    public static final String SUITE = "suite";
+    // A <test> block of testng.xml
+    public static final String BLOCK = "block";
+    public static final String TEST = "test";
+    public static final String PHASE = "phase";
+    public static final String COMMAND = "webdriver";
+    public static final String WAIT = "wait";
+
+    // Output file, null when tracing is off
+    private static final String TRACE_FILE = System.getProperty("trace.file");
+
+    // Time origin of the trace - all timestamps are relative to it; moved by reset()
+    private static volatile long originNanos = System.nanoTime();
+
+    // Interned span names and categories - the buffers only store their ids
+    private static final Map<String, Integer> NAME_IDS = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+
+    // Every thread's buffer, collected when the trace is written
+    private static final Queue<ThreadBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<ThreadBuffer> BUFFER = ThreadLocal.withInitial(() -> {
+        ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread());
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    // Utility class - no instances
+    private Tracer() {
+    }
+
+    /**
+     * @return true if -Dtrace.file is set
+     */
+    public static boolean isEnabled() {
+        return TRACE_FILE != null;
+    }
+
+    /**
+     * Records a span that started at startNanos and ends now
+     *
+     * @param category - One of the category constants
+     * @param name - Span name, e.g. the test method or WebDriver command
+     * @param startNanos - System.nanoTime() when the span started
+     */
+    public static void complete(String category, String name, long startNanos) {
+        if (TRACE_FILE == null) {
+            return;
+        }
+        BUFFER.get().add(intern(category), intern(name), startNanos - originNanos, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Marks the start of a nested span on this thread, for callers that can't keep the start
+     * time themselves (e.g. WebDriverListener before/after callbacks)
+     */
+    public static void push() {
+        if (TRACE_FILE != null) {
+            BUFFER.get().push(System.nanoTime());
+        }
+    }
+
+    /**
+     * Ends the innermost span started with push() on this thread
+     *
+     * @param category - One of the category constants
+     * @param name - Span name
+     */
+    public static void pop(String category, String name) {
+        if (TRACE_FILE == null) {
+            return;
+        }
+        ThreadBuffer buffer = BUFFER.get();
+        long startNanos = buffer.pop();
+        if (startNanos != 0) {
+            buffer.add(intern(category), intern(name), startNanos - originNanos, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Drops the spans of previous runs and restarts the timeline at zero
+     * Called from BaseTest @BeforeSuite, when no test is running, so a long-lived
+     * process writes each run's trace on its own
+     */
+    public static void reset() {
+        if (TRACE_FILE == null) {
+            return;
+        }
+        originNanos = System.nanoTime();
+        // Buffers of finished threads (the previous run's workers) are dropped, live ones emptied
+        BUFFERS.removeIf(buffer -> !buffer.thread.isAlive());
+        for (ThreadBuffer buffer : BUFFERS) {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Writes all recorded spans to the trace file in the Chrome trace-event JSON format
+     * Called once from BaseTest @AfterSuite, when the worker threads are idle
+     */
+    public static void write() throws IOException {
+        if (TRACE_FILE == null) {
+            return;
+        }
+        Path path = Paths.get(TRACE_FILE);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> names;
+        synchronized (NAMES) {
+            names = new ArrayList<>(NAMES);
+        }
+        // Spans that started before this class was loaded have negative starts - shift them to 0
+        long offset = 0;
+        for (ThreadBuffer buffer : BUFFERS) {
+            for (int i = 0; i < buffer.size; i++) {
+                offset = Math.min(offset, buffer.starts[i]);
+            }
+        }
+        int events = 0;
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+            boolean first = true;
+            for (ThreadBuffer buffer : BUFFERS) {
+                // Metadata event so the viewer shows the thread's name instead of its id
+                first = separator(out, first);
+                out.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":" + buffer.threadId
+                        + ",\"args\":{\"name\":\"" + escape(buffer.threadName) + "\"}}");
+                int size = buffer.size;
+                for (int i = 0; i < size; i++) {
+                    first = separator(out, first);
+                    out.write("{\"ph\":\"X\",\"pid\":1,\"tid\":" + buffer.threadId
+                            + ",\"cat\":\"" + escape(names.get(buffer.categories[i]))
+                            + "\",\"name\":\"" + escape(names.get(buffer.names[i]))
+                            + "\",\"ts\":" + micros(buffer.starts[i] - offset)
+                            + ",\"dur\":" + micros(buffer.durations[i])
+                            + "}");
+                    events++;
+                }
+            }
+            out.write("\n]}\n");
+        }
+        System.out.println("[TRACE] Wrote " + events + " spans to " + path.toAbsolutePath());
+    }
+
+    // ========== HELPERS ==========
+
+    private static int intern(String name) {
+        Integer id = NAME_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NAMES) {
+            id = NAME_IDS.get(name);
+            if (id == null) {
+                id = NAMES.size();
+                NAMES.add(name);
+                NAME_IDS.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    // Trace timestamps are microseconds; keep nanosecond precision as decimals
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    private static boolean separator(Writer out, boolean first) throws IOException {
+        if (!first) {
+            out.write(",\n");
+        }
+        return false;
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * ThreadBuffer class - Spans recorded by one thread, in parallel primitive arrays
+     * Only the owning thread appends; write() reads it after the suite has finished.
+     */
+    private static class ThreadBuffer {
+        private final Thread thread;
+        private final long threadId;
+        private final String threadName;
+
+        private int[] categories = new int[1024];
+        private int[] names = new int[1024];
+        private long[] starts = new long[1024];
+        private long[] durations = new long[1024];
+        private volatile int size;
+
+        // Start times of spans opened with push()
+        private long[] stack = new long[16];
+        private int depth;
+
+        ThreadBuffer(Thread thread) {
+            this.thread = thread;
+            this.threadId = thread.getId();
+            this.threadName = thread.getName();
+        }
+
+        void add(int category, int name, long start, long duration) {
+            int index = size;
+            if (index == starts.length) {
+                int capacity = index * 2;
+                categories = Arrays.copyOf(categories, capacity);
+                names = Arrays.copyOf(names, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+            }
+            categories[index] = category;
+            names[index] = name;
+            starts[index] = start;
+            durations[index] = duration;
+            // Volatile write publishes the entry to the thread that writes the trace
+            size = index + 1;
+        }
+
+        // Only called while the owning thread records nothing, see Tracer.reset()
+        void clear() {
+            size = 0;
+            depth = 0;
+        }
+
+        void push(long startNanos) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = startNanos;
+        }
+
+        long pop() {
+            return depth == 0 ? 0 : stack[--depth];
+        }
+    }
+}
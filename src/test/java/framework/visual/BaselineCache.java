@@ -0,0 +1,160 @@
+package framework.visual;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BaselineCache class - Hashes of the baseline images, in a memory-mapped file
+ * The baseline PNGs are the source of truth; this file only saves decoding and hashing
+ * them on every run. Each record is validated against the PNG's size and modification
+ * time, so a replaced baseline is re-hashed, and the file can be deleted at any time.
+ *
+ * Record layout, RECORD bytes each:
+ *   short name length, NAME bytes of UTF-8 name,
+ *   long baseline size, long baseline modified millis, int width, int height,
+ *   PerceptualHash.LENGTH longs of hashes
+ */
+final class BaselineCache {
+
+    private static final int NAME = 94;
+    private static final int RECORD = 2 + NAME + 8 + 8 + 4 + 4 + 8 * PerceptualHash.LENGTH;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    // Slot of each cached name, built once from the mapped records
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    /**
+     * Maps the cache file, creating it if needed
+     *
+     * @param file - Cache file, e.g. target/visual-cache.bin
+     * @param capacity - Maximum number of baselines cached
+     */
+    BaselineCache(Path file, int capacity) {
+        this.capacity = capacity;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) RECORD * capacity);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map visual baseline cache " + file, e);
+        }
+        byte[] name = new byte[NAME];
+        for (int slot = 0; slot < capacity; slot++) {
+            int length = buffer.getShort(slot * RECORD);
+            if (length <= 0 || length > NAME) {
+                continue;
+            }
+            for (int i = 0; i < length; i++) {
+                name[i] = buffer.get(slot * RECORD + 2 + i);
+            }
+            slots.put(new String(name, 0, length, StandardCharsets.UTF_8), slot);
+        }
+    }
+
+    /**
+     * Returns the cached hashes of a baseline, if they belong to the current baseline file
+     *
+     * @param name - Checkpoint name
+     * @param size - Size of the baseline PNG in bytes
+     * @param modified - Modification time of the baseline PNG
+     * @return Baseline with width, height and hashes, or null if not cached or stale
+     */
+    synchronized Baseline get(String name, long size, long modified) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            return null;
+        }
+        int position = slot * RECORD + 2 + NAME;
+        if (buffer.getLong(position) != size || buffer.getLong(position + 8) != modified) {
+            return null;
+        }
+        int width = buffer.getInt(position + 16);
+        int height = buffer.getInt(position + 20);
+        long[] hashes = new long[PerceptualHash.LENGTH];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = buffer.getLong(position + 24 + 8 * i);
+        }
+        return new Baseline(width, height, hashes);
+    }
+
+    /**
+     * Stores the hashes of a baseline, replacing an older record of the same name
+     * Names that don't fit, or a full cache, just leave the baseline uncached
+     */
+    synchronized void put(String name, long size, long modified, Baseline baseline) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > NAME) {
+            return;
+        }
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            if (slots.size() == capacity) {
+                return;
+            }
+            slot = freeSlot();
+        }
+        int position = slot * RECORD;
+        // The name goes in last, so a record is never visible before its data is complete
+        buffer.putShort(position, (short) 0);
+        position += 2 + NAME;
+        buffer.putLong(position, size);
+        buffer.putLong(position + 8, modified);
+        buffer.putInt(position + 16, baseline.width);
+        buffer.putInt(position + 20, baseline.height);
+        for (int i = 0; i < PerceptualHash.LENGTH; i++) {
+            buffer.putLong(position + 24 + 8 * i, baseline.hashes[i]);
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(slot * RECORD + 2 + i, bytes[i]);
+        }
+        buffer.putShort(slot * RECORD, (short) bytes.length);
+        slots.put(name, slot);
+    }
+
+    /**
+     * Writes the mapped records back to the file
+     */
+    synchronized void force() {
+        buffer.force();
+    }
+
+    private int freeSlot() {
+        for (int slot = 0; slot < capacity; slot++) {
+            int length = buffer.getShort(slot * RECORD);
+            if (length <= 0 || length > NAME) {
+                return slot;
+            }
+        }
+        throw new IllegalStateException("No free slot in visual baseline cache");
+    }
+
+    /**
+     * Baseline class - Size and hashes of one baseline image
+     */
+    static final class Baseline {
+        final int width;
+        final int height;
+        final long[] hashes;
+
+        Baseline(int width, int height, long[] hashes) {
+            this.width = width;
+            this.height = height;
+            this.hashes = hashes;
+        }
+    }
+}
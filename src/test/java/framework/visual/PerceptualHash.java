@@ -0,0 +1,173 @@
+package framework.visual;
+
+import java.util.Arrays;
+
+/**
+ * PerceptualHash class - 64-bit perceptual hashes of a screenshot, from its raw pixels
+ * The image is box-averaged down to a 32x32 luminance grid, then:
+ *
+ * - the page hash is a DCT pHash: the 8x8 lowest frequencies of the grid's 2D DCT,
+ *   one bit per coefficient above their median. It survives scaling and small noise
+ *   but flips when the layout or large areas change.
+ * - each of the 4x4 regions (8x8 grid cells each) gets an average hash: one bit per
+ *   cell clearly brighter than the region's mean. Small local changes, e.g. a missing logo,
+ *   show up in one region even when the page hash barely moves.
+ *
+ * Everything runs on primitive arrays; the scratch arrays are reused per thread.
+ */
+public final class PerceptualHash {
+
+    // Side of the luminance grid, and of the low-frequency DCT block kept for the hash
+    static final int GRID = 32;
+    private static final int LOW = 8;
+
+    // Regions per side; each region covers GRID / REGIONS = 8 cells per side, 64 bits
+    static final int REGIONS = 4;
+    private static final int REGION_CELLS = GRID / REGIONS;
+
+    // A region cell must be this many luma levels above the mean to set its bit - without it,
+    // flat regions (plain backgrounds) would flip bits on invisible differences
+    private static final double DEADBAND = 4;
+
+    // Number of longs returned by compute(): the page hash followed by the region hashes
+    public static final int LENGTH = 1 + REGIONS * REGIONS;
+
+    // DCT-II basis, COS[u * GRID + x] = cos((2x + 1) * u * pi / (2 * GRID)), for u < LOW
+    private static final double[] COS = new double[LOW * GRID];
+
+    static {
+        for (int u = 0; u < LOW; u++) {
+            for (int x = 0; x < GRID; x++) {
+                COS[u * GRID + x] = Math.cos((2 * x + 1) * u * Math.PI / (2 * GRID));
+            }
+        }
+    }
+
+    // Per-thread scratch: luminance sums, cell pixel counts, row-transformed grid, coefficients
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    // Utility class - no instances
+    private PerceptualHash() {
+    }
+
+    /**
+     * Hashes an image given as packed ARGB pixels, row by row
+     *
+     * @param pixels - Pixels as returned by BufferedImage.getRGB(0, 0, width, height, null, 0, width)
+     * @param width - Image width
+     * @param height - Image height
+     * @return LENGTH hashes: [0] the page hash, [1..16] the region hashes, row by row
+     */
+    public static long[] compute(int[] pixels, int width, int height) {
+        Scratch scratch = SCRATCH.get();
+        double[] grid = scratch.grid;
+        int[] counts = scratch.counts;
+        Arrays.fill(grid, 0);
+        Arrays.fill(counts, 0);
+
+        // Box-average the luminance into the grid cells
+        for (int y = 0; y < height; y++) {
+            int row = (int) ((long) y * GRID / height) * GRID;
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                int rgb = pixels[offset + x];
+                int cell = row + (int) ((long) x * GRID / width);
+                // ITU-R BT.601 luma, in integer arithmetic
+                grid[cell] += (299 * ((rgb >> 16) & 0xff) + 587 * ((rgb >> 8) & 0xff) + 114 * (rgb & 0xff)) / 1000;
+                counts[cell]++;
+            }
+        }
+        for (int cell = 0; cell < grid.length; cell++) {
+            if (counts[cell] > 0) {
+                grid[cell] /= counts[cell];
+            }
+        }
+
+        long[] hashes = new long[LENGTH];
+        hashes[0] = dctHash(grid, scratch);
+        for (int region = 0; region < REGIONS * REGIONS; region++) {
+            hashes[1 + region] = averageHash(grid, region / REGIONS, region % REGIONS);
+        }
+        return hashes;
+    }
+
+    /**
+     * @return Number of differing bits between two hashes
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // pHash of the grid: the separable 2D DCT, restricted to the LOW x LOW lowest frequencies
+    private static long dctHash(double[] grid, Scratch scratch) {
+        double[] rows = scratch.rows;
+        double[] coefficients = scratch.coefficients;
+        // rows[u * GRID + y] = sum over x of COS[u][x] * grid[y][x]
+        for (int u = 0; u < LOW; u++) {
+            for (int y = 0; y < GRID; y++) {
+                double sum = 0;
+                for (int x = 0; x < GRID; x++) {
+                    sum += COS[u * GRID + x] * grid[y * GRID + x];
+                }
+                rows[u * GRID + y] = sum;
+            }
+        }
+        // coefficients[v * LOW + u] = sum over y of COS[v][y] * rows[u][y]
+        for (int v = 0; v < LOW; v++) {
+            for (int u = 0; u < LOW; u++) {
+                double sum = 0;
+                for (int y = 0; y < GRID; y++) {
+                    sum += COS[v * GRID + y] * rows[u * GRID + y];
+                }
+                coefficients[v * LOW + u] = sum;
+            }
+        }
+        // The DC term is the mean brightness - left out of the median so it can't skew it
+        double[] sorted = scratch.sorted;
+        System.arraycopy(coefficients, 1, sorted, 0, sorted.length);
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        long hash = 0;
+        for (int i = 1; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    // Average hash of one region of the grid: bit set for cells clearly brighter than the region's mean
+    private static long averageHash(double[] grid, int regionRow, int regionColumn) {
+        int top = regionRow * REGION_CELLS;
+        int left = regionColumn * REGION_CELLS;
+        double mean = 0;
+        for (int y = top; y < top + REGION_CELLS; y++) {
+            for (int x = left; x < left + REGION_CELLS; x++) {
+                mean += grid[y * GRID + x];
+            }
+        }
+        mean /= REGION_CELLS * REGION_CELLS;
+        long hash = 0;
+        int bit = 0;
+        for (int y = top; y < top + REGION_CELLS; y++) {
+            for (int x = left; x < left + REGION_CELLS; x++) {
+                if (grid[y * GRID + x] > mean + DEADBAND) {
+                    hash |= 1L << bit;
+                }
+                bit++;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Scratch class - Working arrays of one hashing thread
+     */
+    private static class Scratch {
+        private final double[] grid = new double[GRID * GRID];
+        private final int[] counts = new int[GRID * GRID];
+        private final double[] rows = new double[LOW * GRID];
+        private final double[] coefficients = new double[LOW * LOW];
+        private final double[] sorted = new double[LOW * LOW - 1];
+    }
+}
@@ -0,0 +1,47 @@
+package framework.visual;
+
+import org.testng.Assert;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * VisualCheck class - A visual checkpoint whose comparison runs in the background
+ * Returned by VisualCheckpoint.capture() as soon as the screenshot is taken, so the test
+ * can go on; assertMatches() waits for the result, typically at the end of the test.
+ */
+public class VisualCheck {
+
+    private final String name;
+    private final Future<VisualResult> result;
+
+    VisualCheck(String name, Future<VisualResult> result) {
+        this.name = name;
+        this.result = result;
+    }
+
+    /**
+     * Waits for the comparison to finish
+     *
+     * @return The comparison result
+     */
+    public VisualResult await() {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for visual checkpoint " + name, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Visual checkpoint " + name + " failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Fails the test if the screenshot doesn't match its baseline
+     */
+    public void assertMatches() {
+        VisualResult visual = await();
+        Assert.assertTrue(visual.isMatch(), "Visual checkpoint " + name + " does not match its baseline: "
+                + visual.getMessage());
+    }
+}
@@ -0,0 +1,257 @@
+package framework.visual;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * VisualCheckpoint class - Visual regression checks for page objects
+ * capture() takes the screenshot on the test thread and hands the rest to a background pool:
+ *
+ * 1. decode the PNG and compute its page and region hashes (see PerceptualHash)
+ * 2. look up the baseline's hashes in the memory-mapped BaselineCache
+ * 3. if every hash is within -Dvisual.tolerance bits, the checkpoint passes right there
+ * 4. only otherwise decode the baseline PNG and diff every pixel; more than -Dvisual.maxDiff
+ *    changed pixels is a mismatch, and the actual and diff images go to target/visual-diffs
+ *
+ * Baselines are PNGs in -Dvisual.baselines (default visual-baselines/), one per checkpoint
+ * name, committed with the tests. A missing baseline fails the checkpoint - a clean checkout
+ * must not pass without comparing anything - and the screenshot goes to target/visual-diffs.
+ * Run with -Dvisual.update=true to record (or replace) the baselines, then commit them.
+ */
+public final class VisualCheckpoint {
+
+    // Baseline PNGs, kept outside target/ so they can be committed
+    private static final Path BASELINE_DIR = Paths.get(System.getProperty("visual.baselines", "visual-baselines"));
+
+    // Actual and diff images of mismatching checkpoints
+    private static final Path DIFF_DIR = Paths.get(System.getProperty("visual.diffs", "target/visual-diffs"));
+
+    // Memory-mapped hash cache - local and rebuildable, so it lives in target/
+    private static final Path CACHE_FILE = Paths.get(System.getProperty("visual.cache", "target/visual-cache.bin"));
+    private static final int CACHE_ENTRIES = 1024;
+
+    // true to record every screenshot as the new baseline
+    private static final boolean UPDATE = Boolean.getBoolean("visual.update");
+
+    // Differing bits allowed in the page hash and in each region hash before the pixel diff runs
+    static final int TOLERANCE = Integer.getInteger("visual.tolerance", 2);
+
+    // A pixel counts as changed when a color channel differs by more than this
+    static final int PIXEL_THRESHOLD = Integer.getInteger("visual.pixelThreshold", 16);
+
+    // Fraction of changed pixels allowed by the pixel diff
+    static final double MAX_DIFF = Double.parseDouble(System.getProperty("visual.maxDiff", "0.001"));
+
+    // Comparison pool and hash cache, created on first use
+    private static ExecutorService pool;
+    private static BaselineCache cache;
+
+    // Serializes baseline writes, so parallel tests can't record the same baseline twice
+    private static final Object BASELINE_LOCK = new Object();
+
+    // Utility class - no instances
+    private VisualCheckpoint() {
+    }
+
+    /**
+     * Takes a screenshot and compares it to the checkpoint's baseline in the background
+     *
+     * @param driver - Session showing the page
+     * @param name - Checkpoint name, also the baseline file name, e.g. "orangehrm-login"
+     * @return Handle to wait for the result with
+     */
+    public static VisualCheck capture(WebDriver driver, String name) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return new VisualCheck(name, pool().submit(() -> compare(name, png)));
+    }
+
+    /**
+     * Stops the comparison pool and writes the hash cache back to disk
+     * Called once from BaseTest @AfterSuite
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        if (cache != null) {
+            cache.force();
+        }
+    }
+
+    // ========== COMPARISON ==========
+
+    // Runs on the pool: hashes first, full pixel diff only when the hashes disagree
+    private static VisualResult compare(String name, byte[] png) throws IOException {
+        long start = System.nanoTime();
+        BufferedImage actual = decode(png);
+        int width = actual.getWidth();
+        int height = actual.getHeight();
+        int[] pixels = actual.getRGB(0, 0, width, height, null, 0, width);
+        long[] hashes = PerceptualHash.compute(pixels, width, height);
+
+        Path baselineFile = BASELINE_DIR.resolve(fileName(name) + ".png");
+        BaselineCache.Baseline baseline;
+        synchronized (BASELINE_LOCK) {
+            if (!UPDATE && !Files.exists(baselineFile)) {
+                writeDiff(name, png, null, 0, 0);
+                return log(start, new VisualResult(name, VisualResult.Outcome.MISSING_BASELINE,
+                        "no baseline " + baselineFile + " - record it with -Dvisual.update=true and commit it"));
+            }
+            if (UPDATE) {
+                Files.createDirectories(BASELINE_DIR);
+                Files.write(baselineFile, png);
+                cache().put(name, Files.size(baselineFile), Files.getLastModifiedTime(baselineFile).toMillis(),
+                        new BaselineCache.Baseline(width, height, hashes));
+                return log(start, new VisualResult(name, VisualResult.Outcome.NEW_BASELINE,
+                        "recorded " + baselineFile));
+            }
+            baseline = baseline(name, baselineFile);
+        }
+
+        int pageDistance = PerceptualHash.distance(hashes[0], baseline.hashes[0]);
+        int regionDistance = 0;
+        for (int i = 1; i < PerceptualHash.LENGTH; i++) {
+            regionDistance = Math.max(regionDistance, PerceptualHash.distance(hashes[i], baseline.hashes[i]));
+        }
+        String distances = "page hash distance " + pageDistance + ", worst region " + regionDistance;
+        if (width == baseline.width && height == baseline.height
+                && pageDistance <= TOLERANCE && regionDistance <= TOLERANCE) {
+            return log(start, new VisualResult(name, VisualResult.Outcome.HASH_MATCH, distances));
+        }
+
+        // The hashes disagree - decide with a full pixel diff against the baseline image
+        if (width != baseline.width || height != baseline.height) {
+            writeDiff(name, png, null, 0, 0);
+            return log(start, new VisualResult(name, VisualResult.Outcome.MISMATCH, "size " + width + "x" + height
+                    + " differs from baseline " + baseline.width + "x" + baseline.height));
+        }
+        BufferedImage expected = decode(Files.readAllBytes(baselineFile));
+        int[] expectedPixels = expected.getRGB(0, 0, width, height, null, 0, width);
+        int changed = diff(pixels, expectedPixels);
+        double ratio = (double) changed / pixels.length;
+        String details = distances + String.format(", %d pixels changed (%.4f%%)", changed, ratio * 100);
+        if (!withinMaxDiff(changed, pixels.length)) {
+            writeDiff(name, png, expectedPixels, width, height);
+            return log(start, new VisualResult(name, VisualResult.Outcome.MISMATCH, details));
+        }
+        return log(start, new VisualResult(name, VisualResult.Outcome.PIXEL_MATCH, details));
+    }
+
+    // Cached hashes of the baseline, or decodes and hashes it and fills the cache
+    private static BaselineCache.Baseline baseline(String name, Path baselineFile) throws IOException {
+        long size = Files.size(baselineFile);
+        long modified = Files.getLastModifiedTime(baselineFile).toMillis();
+        BaselineCache.Baseline baseline = cache().get(name, size, modified);
+        if (baseline == null) {
+            BufferedImage image = decode(Files.readAllBytes(baselineFile));
+            int width = image.getWidth();
+            int height = image.getHeight();
+            baseline = new BaselineCache.Baseline(width, height,
+                    PerceptualHash.compute(image.getRGB(0, 0, width, height, null, 0, width), width, height));
+            cache().put(name, size, modified, baseline);
+        }
+        return baseline;
+    }
+
+    /**
+     * Counts the changed pixels and turns the expected pixels into the diff image
+     *
+     * @param pixels - Actual pixels
+     * @param expectedPixels - Baseline pixels of the same size, overwritten with the actual
+     *        pixels, changed ones in red
+     * @return Number of changed pixels
+     */
+    static int diff(int[] pixels, int[] expectedPixels) {
+        int changed = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            if (changed(pixels[i], expectedPixels[i])) {
+                changed++;
+                // Mark the pixel in place - the diff image is the actual screenshot with changes in red
+                expectedPixels[i] = 0xffff0000;
+            } else {
+                expectedPixels[i] = pixels[i];
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return true if the changed pixels are at most -Dvisual.maxDiff of all pixels
+     */
+    static boolean withinMaxDiff(int changed, int total) {
+        return (double) changed / total <= MAX_DIFF;
+    }
+
+    // true if a color channel differs by more than -Dvisual.pixelThreshold; alpha is ignored
+    static boolean changed(int a, int b) {
+        return Math.abs(((a >> 16) & 0xff) - ((b >> 16) & 0xff)) > PIXEL_THRESHOLD
+                || Math.abs(((a >> 8) & 0xff) - ((b >> 8) & 0xff)) > PIXEL_THRESHOLD
+                || Math.abs((a & 0xff) - (b & 0xff)) > PIXEL_THRESHOLD;
+    }
+
+    // Writes the actual screenshot, and the diff image when the sizes matched
+    private static void writeDiff(String name, byte[] png, int[] diffPixels, int width, int height) throws IOException {
+        Files.createDirectories(DIFF_DIR);
+        Files.write(DIFF_DIR.resolve(fileName(name) + "-actual.png"), png);
+        if (diffPixels != null) {
+            BufferedImage diff = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            diff.setRGB(0, 0, width, height, diffPixels, 0, width);
+            ImageIO.write(diff, "png", DIFF_DIR.resolve(fileName(name) + "-diff.png").toFile());
+        }
+    }
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        return image;
+    }
+
+    private static VisualResult log(long start, VisualResult result) {
+        System.out.printf("[VISUAL] %s (%.0fms)%n", result, (System.nanoTime() - start) / 1_000_000.0);
+        return result;
+    }
+
+    // Checkpoint names become file names - keep them portable
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    // ========== LAZY STATE ==========
+
+    private static synchronized ExecutorService pool() {
+        if (pool == null) {
+            int threads = Integer.getInteger("visual.threads",
+                    Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+            AtomicInteger counter = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "visual-" + counter.incrementAndGet());
+                // Never keeps the JVM alive, e.g. when a test forgot assertMatches()
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pool;
+    }
+
+    private static synchronized BaselineCache cache() {
+        if (cache == null) {
+            cache = new BaselineCache(CACHE_FILE, CACHE_ENTRIES);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,159 @@
+package framework.visual;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for the comparison steps of visual checkpoints
+ * Runs the perceptual hashes, the baseline hash cache and the pixel diff on generated
+ * pixel arrays, so no browser and no committed baseline is needed.
+ */
+public class VisualComparisonTest {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+    private static final int BACKGROUND = 0xfff4f4f4;
+
+    /**
+     * Test that identical and slightly noisy screenshots stay within the hash tolerance
+     */
+    @Test(groups = {"visual"})
+    public void testSimilarImagesMatchByHash() {
+        long[] page = PerceptualHash.compute(page(true), WIDTH, HEIGHT);
+        Assert.assertEquals(PerceptualHash.compute(page(true), WIDTH, HEIGHT), page,
+                "Identical images should have identical hashes");
+
+        // Anti-aliasing and compression noise of a few levels per channel
+        int[] noisy = page(true);
+        Random random = new Random(42);
+        for (int i = 0; i < noisy.length; i++) {
+            int delta = random.nextInt(7) - 3;
+            noisy[i] = 0xff000000 | channel(noisy[i], 16, delta) | channel(noisy[i], 8, delta) | channel(noisy[i], 0, delta);
+        }
+        long[] hashes = PerceptualHash.compute(noisy, WIDTH, HEIGHT);
+        for (int i = 0; i < PerceptualHash.LENGTH; i++) {
+            Assert.assertTrue(PerceptualHash.distance(hashes[i], page[i]) <= VisualCheckpoint.TOLERANCE,
+                    "Hash " + i + " of the noisy image should be within tolerance, distance was "
+                            + PerceptualHash.distance(hashes[i], page[i]));
+        }
+    }
+
+    /**
+     * Test that a small local change, a missing logo, flips the hash of its region
+     */
+    @Test(groups = {"visual"})
+    public void testMissingLogoChangesItsRegion() {
+        long[] page = PerceptualHash.compute(page(true), WIDTH, HEIGHT);
+        long[] withoutLogo = PerceptualHash.compute(page(false), WIDTH, HEIGHT);
+        // The logo sits in the top-left region
+        Assert.assertTrue(PerceptualHash.distance(withoutLogo[1], page[1]) > VisualCheckpoint.TOLERANCE,
+                "Region hash should flip when the logo is missing, distance was "
+                        + PerceptualHash.distance(withoutLogo[1], page[1]));
+        for (int region = 2; region < PerceptualHash.LENGTH; region++) {
+            Assert.assertEquals(withoutLogo[region], page[region], "Region " + region + " did not change");
+        }
+    }
+
+    /**
+     * Test that a cached record survives remapping the file, and is dropped when the
+     * baseline's size or modification time changes
+     */
+    @Test(groups = {"visual"})
+    public void testBaselineCacheRoundTrip() throws IOException {
+        Path file = Files.createTempDirectory("visual-cache").resolve("visual-cache.bin");
+        try {
+            long[] hashes = PerceptualHash.compute(page(true), WIDTH, HEIGHT);
+            BaselineCache cache = new BaselineCache(file, 4);
+            Assert.assertNull(cache.get("login", 1000, 5000), "Nothing is cached yet");
+            cache.put("login", 1000, 5000, new BaselineCache.Baseline(WIDTH, HEIGHT, hashes));
+            cache.put("dashboard", 2000, 6000, new BaselineCache.Baseline(800, 600, new long[PerceptualHash.LENGTH]));
+            cache.force();
+
+            BaselineCache remapped = new BaselineCache(file, 4);
+            BaselineCache.Baseline baseline = remapped.get("login", 1000, 5000);
+            Assert.assertNotNull(baseline, "Record should survive remapping the file");
+            Assert.assertEquals(baseline.width, WIDTH);
+            Assert.assertEquals(baseline.height, HEIGHT);
+            Assert.assertEquals(baseline.hashes, hashes);
+            Assert.assertEquals(remapped.get("dashboard", 2000, 6000).width, 800);
+
+            Assert.assertNull(remapped.get("login", 1001, 5000), "A baseline of another size was replaced");
+            Assert.assertNull(remapped.get("login", 1000, 5001), "A baseline modified since was replaced");
+
+            // Re-hashing the replaced baseline overwrites its record
+            remapped.put("login", 1001, 5001, new BaselineCache.Baseline(WIDTH, HEIGHT, new long[PerceptualHash.LENGTH]));
+            Assert.assertNull(remapped.get("login", 1000, 5000));
+            Assert.assertEquals(remapped.get("login", 1001, 5001).hashes, new long[PerceptualHash.LENGTH]);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.getParent());
+        }
+    }
+
+    /**
+     * Test that a pixel changes only when a color channel differs by more than
+     * -Dvisual.pixelThreshold, and a screenshot mismatches only above -Dvisual.maxDiff
+     */
+    @Test(groups = {"visual"})
+    public void testPixelDiffThresholds() {
+        int threshold = VisualCheckpoint.PIXEL_THRESHOLD;
+        int gray = 0xff808080;
+        Assert.assertFalse(VisualCheckpoint.changed(gray, gray));
+        Assert.assertFalse(VisualCheckpoint.changed(gray, channel(gray, 16, threshold) | (gray & 0xff00ffff)),
+                "A difference of exactly the threshold is not a change");
+        for (int shift : new int[]{16, 8, 0}) {
+            int other = (gray & ~(0xff << shift)) | channel(gray, shift, threshold + 1);
+            Assert.assertTrue(VisualCheckpoint.changed(gray, other), "Channel at bit " + shift + " changed");
+        }
+        Assert.assertFalse(VisualCheckpoint.changed(gray, gray & 0x00ffffff), "Alpha is ignored");
+
+        // The diff counts the changed pixels and marks them in red on the actual screenshot
+        int[] actual = page(true);
+        int[] expected = page(true);
+        int changed = (int) (actual.length * VisualCheckpoint.MAX_DIFF);
+        for (int i = 0; i < changed; i++) {
+            actual[i] = 0xff000000;
+        }
+        Assert.assertEquals(VisualCheckpoint.diff(actual, expected), changed);
+        Assert.assertEquals(expected[0], 0xffff0000, "Changed pixels are red in the diff image");
+        Assert.assertEquals(expected[actual.length - 1], actual[actual.length - 1],
+                "Unchanged pixels show the actual screenshot");
+
+        Assert.assertTrue(VisualCheckpoint.withinMaxDiff(changed, actual.length),
+                "Up to -Dvisual.maxDiff changed pixels still match");
+        Assert.assertFalse(VisualCheckpoint.withinMaxDiff(changed + 1, actual.length),
+                "More than -Dvisual.maxDiff changed pixels mismatch");
+    }
+
+    // A login-like page: header bar, a logo block (optional), a form and a button
+    private static int[] page(boolean logo) {
+        int[] pixels = new int[WIDTH * HEIGHT];
+        Arrays.fill(pixels, BACKGROUND);
+        fill(pixels, 0, 0, WIDTH, 24, 0xff303a46);
+        if (logo) {
+            fill(pixels, 40, 50, 100, 60, 0xffe8702a);
+        }
+        fill(pixels, 200, 180, 240, 30, 0xffffffff);
+        fill(pixels, 200, 230, 240, 30, 0xffffffff);
+        fill(pixels, 200, 290, 240, 36, 0xff76bc21);
+        return pixels;
+    }
+
+    private static void fill(int[] pixels, int left, int top, int width, int height, int argb) {
+        for (int y = top; y < top + height; y++) {
+            Arrays.fill(pixels, y * WIDTH + left, y * WIDTH + left + width, argb);
+        }
+    }
+
+    // One color channel of the pixel moved by delta and clamped, still at its bit position
+    private static int channel(int argb, int shift, int delta) {
+        int value = Math.max(0, Math.min(255, ((argb >> shift) & 0xff) + delta));
+        return value << shift;
+    }
+}
@@ -0,0 +1,60 @@
+package framework.visual;
+
+/**
+ * VisualResult class - Outcome of one visual checkpoint
+ */
+public class VisualResult {
+
+    /**
+     * How the screenshot compared to its baseline
+     */
+    public enum Outcome {
+        // -Dvisual.update=true - the screenshot became the baseline
+        NEW_BASELINE,
+        // No baseline exists and -Dvisual.update is not set - nothing was compared
+        MISSING_BASELINE,
+        // Page and region hashes within tolerance - no pixel diff was needed
+        HASH_MATCH,
+        // Hashes differed, but the full pixel diff stayed within -Dvisual.maxDiff
+        PIXEL_MATCH,
+        // The full pixel diff found too many changed pixels, or the size changed
+        MISMATCH
+    }
+
+    private final String name;
+    private final Outcome outcome;
+    private final String message;
+
+    VisualResult(String name, Outcome outcome, String message) {
+        this.name = name;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return true unless the outcome is MISMATCH or MISSING_BASELINE
+     */
+    public boolean isMatch() {
+        return outcome != Outcome.MISMATCH && outcome != Outcome.MISSING_BASELINE;
+    }
+
+    /**
+     * @return Details for the log or the assertion message, e.g. hash distances and diff ratio
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + outcome + " - " + message;
+    }
+}
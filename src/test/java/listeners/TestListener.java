@@ -1,22 +1,39 @@
 package listeners;
 
+import framework.capture.EventCapture;
+import framework.core.DriverContext;
+import framework.metrics.SuiteMetrics;
+import framework.parallel.SuiteScheduler;
+import framework.trace.Tracer;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 
 public class TestListener implements ITestListener {
     
+    // Attribute marking results that went through onTestStart, for the in-flight gauge
+    private static final String STARTED_ATTRIBUTE = TestListener.class.getName() + ".started";
+    
+    // Attribute holding System.nanoTime() at start, for the spans in the trace export
+    private static final String TRACE_START_ATTRIBUTE = TestListener.class.getName() + ".traceStart";
+    
     @Override
     public void onTestStart(ITestResult result) {
         System.out.println("🔥 [LISTENER] Test started: " + result.getName());
         System.out.println("🔥 [LISTENER] Test class: " + result.getTestClass().getName());
         System.out.println("🔥 [LISTENER] Test method: " + result.getMethod().getMethodName());
+        result.setAttribute(STARTED_ATTRIBUTE, Boolean.TRUE);
+        result.setAttribute(TRACE_START_ATTRIBUTE, System.nanoTime());
+        SuiteMetrics.testStarted();
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
         System.out.println("✅ [LISTENER] Test passed: " + result.getName());
         System.out.println("✅ [LISTENER] Duration: " + (result.getEndMillis() - result.getStartMillis()) + "ms");
+        SuiteMetrics.testFinished("passed", wasStarted(result));
+        traceTest(result);
     }
     
     @Override
@@ -24,17 +41,28 @@ public class TestListener implements ITestListener {
         System.out.println("❌ [LISTENER] Test failed: " + result.getName());
         System.out.println("❌ [LISTENER] Exception: " + result.getThrowable().getMessage());
         System.out.println("❌ [LISTENER] Duration: " + (result.getEndMillis() - result.getStartMillis()) + "ms");
+        SuiteMetrics.testFinished("failed", wasStarted(result));
+        traceTest(result);
+        // Runs before @AfterMethod, so the session is still bound and holds the test's last events
+        if (EventCapture.isEnabled()) {
+            EventCapture.writeFailure(DriverContext.get(result),
+                    result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName());
+        }
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
         System.out.println("⏭️ [LISTENER] Test skipped: " + result.getName());
+        SuiteMetrics.testFinished("skipped", wasStarted(result));
+        traceTest(result);
     }
     
     @Override
     public void onStart(ITestContext context) {
         System.out.println("🚀 [LISTENER] Test suite started: " + context.getName());
         System.out.println("🚀 [LISTENER] Total tests: " + context.getAllTestMethods().length);
+        SuiteMetrics.testsScheduled(invocations(context), capacity(context));
+        context.setAttribute(TRACE_START_ATTRIBUTE, System.nanoTime());
     }
     
     @Override
@@ -43,5 +71,38 @@ public class TestListener implements ITestListener {
         System.out.println("🏁 [LISTENER] Passed: " + context.getPassedTests().size());
         System.out.println("🏁 [LISTENER] Failed: " + context.getFailedTests().size());
         System.out.println("🏁 [LISTENER] Skipped: " + context.getSkippedTests().size());
+        Object start = context.getAttribute(TRACE_START_ATTRIBUTE);
+        if (start != null) {
+            Tracer.complete(Tracer.BLOCK, context.getName(), (Long) start);
+        }
+    }
+    
+    // Invocations the block will run; data provider rows are only known once they run
+    private static int invocations(ITestContext context) {
+        int invocations = 0;
+        for (ITestNGMethod method : context.getAllTestMethods()) {
+            invocations += method.getInvocationCount();
+        }
+        return invocations;
+    }
+    
+    // Shared workers when SuiteScheduler runs all blocks at once, else the block's own threads
+    private static int capacity(ITestContext context) {
+        int shared = SuiteScheduler.workerCount();
+        return shared > 0 ? shared : context.getCurrentXmlTest().getThreadCount();
+    }
+    
+    // Records the test's span, from onTestStart until its result is known
+    private static void traceTest(ITestResult result) {
+        Object start = result.getAttribute(TRACE_START_ATTRIBUTE);
+        if (start != null && Tracer.isEnabled()) {
+            Tracer.complete(Tracer.TEST, result.getTestClass().getRealClass().getSimpleName()
+                    + "." + result.getMethod().getMethodName(), (Long) start);
+        }
+    }
+    
+    // Skipped tests may never have gone through onTestStart
+    private static boolean wasStarted(ITestResult result) {
+        return result.getAttribute(STARTED_ATTRIBUTE) != null;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
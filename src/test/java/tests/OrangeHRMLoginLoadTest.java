@@ -0,0 +1,78 @@
+package tests;
+
+import framework.fixtures.FixtureServer;
+import framework.load.LoadProfile;
+import framework.load.LoadReport;
+import framework.load.LoadRunner;
+import framework.pages.OrangeHRMLoginPage;
+import framework.parallel.ResourceLock;
+import framework.parallel.ResourceLockListener;
+import framework.timing.TimedWait;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Load test class for the OrangeHRM login flow
+ * Reuses OrangeHRMLoginPage as the scenario for N concurrent headless virtual users.
+ * Does not extend BaseTest - LoadRunner creates and quits one browser per virtual user.
+ * The virtual users log into the shared Admin account, so the test holds the same
+ * "orangehrm-admin" lock as OrangeHRMLoginTest; the listener is declared here because
+ * the test usually runs without testng.xml.
+ *
+ * Not part of testng.xml; run it on its own, ideally against the local fixtures:
+ *   mvn test -Dtest=OrangeHRMLoginLoadTest -Dfixtures.mode=replay
+ */
+@Listeners(ResourceLockListener.class)
+public class OrangeHRMLoginLoadTest {
+
+    // Test data constants
+    private static final String VALID_USERNAME = "Admin";
+    private static final String VALID_PASSWORD = "admin123";
+
+    @BeforeClass(alwaysRun = true)
+    public void startFixtures() throws IOException {
+        // Serves recorded pages locally when -Dfixtures.mode=replay is set
+        FixtureServer.startIfEnabled();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopFixtures() {
+        FixtureServer.stop();
+    }
+
+    /**
+     * Runs the login flow with concurrent virtual users and reports latency per step
+     */
+    @Test(groups = {"load"})
+    @ResourceLock(value = "orangehrm-admin", mode = ResourceLock.Mode.WRITE)
+    @Parameters({"browser", "loadUsers", "loadRampUpSeconds", "loadRate", "loadDurationSeconds"})
+    public void testLoginUnderLoad(@Optional("chrome") String browser, @Optional("5") int users,
+                                   @Optional("10") int rampUpSeconds, @Optional("0") double rate,
+                                   @Optional("60") int durationSeconds) throws InterruptedException {
+        LoadProfile profile = LoadProfile.users(users)
+                .rampUp(Duration.ofSeconds(rampUpSeconds))
+                .targetRate(rate)
+                .duration(Duration.ofSeconds(durationSeconds))
+                .browser(browser);
+
+        LoadReport report = LoadRunner.run(profile, (driver, steps) -> {
+            OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage(driver);
+            steps.step("open login page", () -> loginPage.navigateToLoginPage().waitForPageLoad());
+            steps.step("log in", () -> {
+                loginPage.login(VALID_USERNAME, VALID_PASSWORD);
+                new TimedWait(driver, Duration.ofSeconds(20)).until(ExpectedConditions.urlContains("dashboard"));
+            });
+        });
+
+        Assert.assertTrue(report.getIterations() > 0, "At least one iteration should have completed");
+    }
+}
@@ -3,15 +3,19 @@ package tests;
 import framework.pages.GoogleSearchPage;
 import org.testng.annotations.Test;
 import base.BaseTest;
+import framework.fixtures.FixtureServer;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import framework.timing.TimedWait;
 import java.time.Duration;
 
 public class SearchFlipkart extends BaseTest {
     
     @Test(groups = {"smoke"}) 
     public void SearchinGoogle() {
+        WebDriver driver = getDriver();
         System.out.println("[DEBUG] Test method SearchinGoogle called");
         System.out.println("[DEBUG] Driver is null: " + (driver == null));
         
@@ -20,11 +24,11 @@ public class SearchFlipkart extends BaseTest {
         }
         
         System.out.println("[DEBUG] Driver class: " + driver.getClass().getName());
-        driver.get("https://www.google.com");
+        driver.get(FixtureServer.url("https://www.google.com"));
         // Wait for the search box to be visible
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = new TimedWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.name("q")));
-        GoogleSearchPage googleSearchPage = new GoogleSearchPage(driver);
+        GoogleSearchPage googleSearchPage = new GoogleSearchPage();
         googleSearchPage.searchFor("flipkart");
         
     }
@@ -3,19 +3,23 @@ package tests;
 import framework.pages.GoogleSearchPage;
 import org.testng.annotations.Test;
 import base.BaseTest;
+import framework.fixtures.FixtureServer;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import framework.timing.TimedWait;
 import java.time.Duration;
 
 public class SearchFlipkart2 extends BaseTest {
     @Test(groups = {"regression"}) 
     public void SearchinGoogle() {
-        driver.get("https://www.google.com");
+        WebDriver driver = getDriver();
+        driver.get(FixtureServer.url("https://www.google.com"));
         // Wait for the search box to be visible
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = new TimedWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.name("q")));
-        GoogleSearchPage googleSearchPage = new GoogleSearchPage(driver);
+        GoogleSearchPage googleSearchPage = new GoogleSearchPage();
         googleSearchPage.searchFor("flipkart");
     }
 } 
\ No newline at end of file
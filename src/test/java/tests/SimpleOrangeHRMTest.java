@@ -6,6 +6,7 @@ import org.testng.annotations.Test;
 import base.BaseTest;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import framework.timing.TimedWait;
 import org.openqa.selenium.By;
 import java.time.Duration;
 
@@ -18,13 +19,13 @@ public class SimpleOrangeHRMTest extends BaseTest {
     @Test(groups = {"smoke"})
     public void testOrangeHRMPageLoad() {
         // Create OrangeHRM Login Page Object
-        OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage(driver);
+        OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage();
         
         // Navigate to login page
         loginPage.navigateToLoginPage();
         
         // Create explicit wait with 10 seconds timeout
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = new TimedWait(getDriver(), Duration.ofSeconds(10));
         
         // Wait for page title to contain "OrangeHRM"
         wait.until(ExpectedConditions.titleContains("OrangeHRM"));
@@ -53,13 +54,13 @@ public class SimpleOrangeHRMTest extends BaseTest {
     @Test(groups = {"smoke"})
     public void testOrangeHRMPageLoadWithExplicitWaits() {
         // Create OrangeHRM Login Page Object
-        OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage(driver);
+        OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage();
         
         // Navigate to login page
         loginPage.navigateToLoginPage();
         
         // Create explicit wait with 15 seconds timeout for slower connections
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        WebDriverWait wait = new TimedWait(getDriver(), Duration.ofSeconds(15));
         
         // Wait for page to be fully loaded
         wait.until(ExpectedConditions.titleContains("OrangeHRM"));
@@ -95,13 +96,13 @@ public class SimpleOrangeHRMTest extends BaseTest {
     @Test(groups = {"smoke"})
     public void testOrangeHRMElementInteractions() {
         // Create OrangeHRM Login Page Object
-        OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage(driver);
+        OrangeHRMLoginPage loginPage = new OrangeHRMLoginPage();
         
         // Navigate to login page
         loginPage.navigateToLoginPage();
         
         // Create explicit wait
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        WebDriverWait wait = new TimedWait(getDriver(), Duration.ofSeconds(10));
         
         // Wait for page to load
         wait.until(ExpectedConditions.titleContains("OrangeHRM"));
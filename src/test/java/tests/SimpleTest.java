@@ -2,11 +2,14 @@ package tests;
 
 import org.testng.annotations.Test;
 import base.BaseTest;
+import framework.fixtures.FixtureServer;
+import org.openqa.selenium.WebDriver;
 
 public class SimpleTest extends BaseTest {
     
     @Test(groups = {"smoke"})
     public void simpleTest() {
+        WebDriver driver = getDriver();
         System.out.println("[DEBUG] SimpleTest method called");
         System.out.println("[DEBUG] Driver is null: " + (driver == null));
         
@@ -15,7 +18,7 @@ public class SimpleTest extends BaseTest {
         }
         
         System.out.println("[DEBUG] Driver initialized successfully: " + driver.getClass().getName());
-        driver.get("https://www.google.com");
+        driver.get(FixtureServer.url("https://www.google.com"));
         System.out.println("[DEBUG] Page title: " + driver.getTitle());
     }
 } 
\ No newline at end of file
@@ -2,28 +2,26 @@ package tests;
 import org.openqa.selenium.interactions.Actions;
 import org.testng.annotations.Test;
 import base.BaseTest;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import framework.fixtures.FixtureServer;
+import framework.timing.TimedSleep;
 import java.time.Duration;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 
 public class TestAction extends BaseTest  {
     @Test
-    public void testAction()  throws InterruptedException {
-        driver.get("https://practice.expandtesting.com/hovers");
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(90));
+    public void testAction() {
+        WebDriver driver = getDriver();
+        driver.get(FixtureServer.url("https://practice.expandtesting.com/hovers"));
         WebElement element = driver.findElement(By.xpath("//*[@id='core']/div/div/div[1]/img"));
-        Actions action = new Actions(driver);
-        action.moveToElement(element).perform();
-        Thread.sleep(6000);
-        action.sendKeys(Keys.chord(Keys.CONTROL, "a")).perform();
-        Thread.sleep(6000);
-         
-
-
-
-
-
+        // Hover, hold, select all, hold - built as one chain and sent in a single request
+        // Performed through TimedSleep so the holds count as SLEEP time, the hover and keys as BODY
+        TimedSleep.perform(new Actions(driver)
+                .moveToElement(element)
+                .pause(Duration.ofSeconds(6))
+                .sendKeys(Keys.chord(Keys.CONTROL, "a"))
+                .pause(Duration.ofSeconds(6)));
     }
 }